@@ -86,6 +86,8 @@ export async function apiFetch(input: RequestInfo | URL, init: RequestInit = {})
   
   // 성공 응답 처리
   const contentType = res.headers.get('Content-Type') || ''
+  // 줄 단위 스트리밍 응답(NDJSON)은 호출한 쪽에서 body를 직접 읽는다
+  if (contentType.includes('application/x-ndjson')) return res
   if (contentType.includes('application/json')) return res.json()
   return res.text()
 }
@@ -1,4 +1,5 @@
 import { apiFetch } from './client'
+import type { PackResult, Placed } from '../utils/packing'
 
 export interface PackingItem {
   id?: number
@@ -8,6 +9,16 @@ export interface PackingItem {
   quantity: number
 }
 
+// 혼합 차량 트럭 종류 (availableCount가 없으면 대수 제한 없음)
+export interface TruckType {
+  id?: number
+  name: string
+  width: number
+  height: number
+  cost: number
+  availableCount?: number | null
+}
+
 export interface PackingScenario {
   id?: number
   name: string
@@ -17,9 +28,39 @@ export interface PackingScenario {
   allowRotate: boolean
   margin: number
   isFavorite: boolean
+  packedTruckCount?: number | null
+  packedUtilization?: number | null
+  packedLowerBound?: number | null
   createdAt?: string
   updatedAt?: string
   items: PackingItem[]
+  truckTypes?: TruckType[]
+  layout?: ServerPackResult | null  // 상세 조회 시 저장된 적재 결과 (기하 정보가 바뀌면 null)
+}
+
+// 목록용 시나리오 요약 (아이템 목록 없이 종류 수/총 수량만)
+export interface ScenarioSummary {
+  id: number
+  name: string
+  description?: string | null
+  isFavorite: boolean
+  truckWidth: number
+  truckHeight: number
+  allowRotate: boolean
+  margin: number
+  itemTypeCount: number
+  totalQuantity: number
+  packedTruckCount?: number | null   // 저장 시 계산해 둔 적재 통계 (계산 전이거나 불가능하면 null)
+  packedUtilization?: number | null
+  packedLowerBound?: number | null
+  createdAt: string
+  updatedAt: string
+}
+
+// 요약 목록 한 페이지 (nextCursor가 null이면 마지막 페이지)
+export interface ScenarioSummaryPage {
+  items: ScenarioSummary[]
+  nextCursor: string | null
 }
 
 export interface CreateScenarioRequest {
@@ -30,10 +71,26 @@ export interface CreateScenarioRequest {
   allowRotate: boolean
   margin: number
   items: PackingItem[]
+  truckTypes?: TruckType[]  // 수정 시 생략하면 기존 트럭 종류 유지
 }
 
 export interface UpdateScenarioRequest extends CreateScenarioRequest {}
 
+// 서버 적재 계산 방식: GREEDY(packing.ts와 같은 방식, 같은 면적 아이템 순서는 서버 정규형 기준) / RACE(여러 휴리스틱 병렬 경쟁) / BLOCK(같은 아이템 블록 배치)
+export type PackingMode = 'GREEDY' | 'RACE' | 'BLOCK' | 'EXACT' | 'PATTERN' | 'INCREMENTAL' | 'AUTO' | 'SCALE'
+
+// GREEDY 모드의 배치 엔진: AUTO는 수량이 많으면 SKYLINE, 아니면 MAXRECTS
+export type PackingEngine = 'AUTO' | 'MAXRECTS' | 'SKYLINE' | 'GUILLOTINE'
+
+// 서버 적재 계산 결과 (utils/packing.ts의 PackResult와 같은 구조)
+export interface ServerPackResult extends PackResult {
+  utilization: number
+  strategy: string
+  lowerBound: number  // 필요한 트럭 수의 하한
+  gap: number         // (count - lowerBound) / lowerBound, 0이면 최적
+  provenOptimal: boolean  // 트럭 수가 최소임이 증명됨 (하한 도달 또는 EXACT)
+}
+
 // 모든 시나리오 조회
 export async function getAllScenarios(): Promise<PackingScenario[]> {
   return await apiFetch('/api/scenarios')
@@ -49,6 +106,29 @@ export async function searchScenarios(query: string): Promise<PackingScenario[]>
   return await apiFetch(`/api/scenarios/search?q=${encodeURIComponent(query)}`)
 }
 
+// 시나리오 요약 목록 (sort: updated=수정 시각, trucks=트럭 수 내림차순, 다음 페이지는 nextCursor로 조회)
+export async function getScenarioSummaries(
+  options: {
+    favorites?: boolean
+    q?: string
+    sort?: 'updated' | 'trucks'
+    minTrucks?: number       // 트럭 수가 이 값 이상인 시나리오만
+    maxUtilization?: number  // 적재율(0~1)이 이 값 이하인 시나리오만
+    cursor?: string | null
+    size?: number
+  } = {}
+): Promise<ScenarioSummaryPage> {
+  const params = new URLSearchParams()
+  if (options.favorites) params.set('favorites', 'true')
+  if (options.q) params.set('q', options.q)
+  if (options.sort) params.set('sort', options.sort)
+  if (options.minTrucks) params.set('minTrucks', String(options.minTrucks))
+  if (options.maxUtilization !== undefined) params.set('maxUtilization', String(options.maxUtilization))
+  if (options.cursor) params.set('cursor', options.cursor)
+  if (options.size) params.set('size', String(options.size))
+  return await apiFetch(`/api/scenarios/summaries?${params.toString()}`)
+}
+
 // 특정 시나리오 조회
 export async function getScenario(id: number): Promise<PackingScenario> {
   return await apiFetch(`/api/scenarios/${id}`)
@@ -83,3 +163,112 @@ export async function deleteScenario(id: number): Promise<void> {
     method: 'DELETE'
   })
 }
+
+// 저장된 시나리오를 서버에서 적재 계산
+export async function packScenario(
+  id: number,
+  mode: PackingMode = 'GREEDY',
+  engine: PackingEngine = 'AUTO'
+): Promise<ServerPackResult> {
+  return await apiFetch(`/api/scenarios/${id}/pack?mode=${mode}&engine=${engine}`, {
+    method: 'POST'
+  })
+}
+
+// 스트리밍 적재 계산의 한 줄 (NDJSON): start → truck(트럭마다) → done, 실패하면 error
+export type PackStreamLine =
+  | { type: 'start'; binWidth: number; binHeight: number; lowerBound: number }
+  | { type: 'truck'; truck: number; placements: Placed[] }
+  | { type: 'done'; count: number; utilization: number; strategy: string; lowerBound: number; gap: number; provenOptimal: boolean }
+  | { type: 'error'; error: string }
+
+// 저장된 시나리오를 서버에서 적재 계산하되, 트럭이 하나 완성될 때마다 onTruck으로 받는다.
+// 전부 끝나면 packScenario와 같은 결과를 돌려준다.
+export async function packScenarioStream(
+  id: number,
+  onTruck: (truck: number, placements: Placed[]) => void,
+  mode: PackingMode = 'GREEDY',
+  engine: PackingEngine = 'AUTO'
+): Promise<ServerPackResult> {
+  const res: Response = await apiFetch(`/api/scenarios/${id}/pack-stream?mode=${mode}&engine=${engine}`, {
+    method: 'POST'
+  })
+  const reader = res.body!.pipeThrough(new TextDecoderStream()).getReader()
+  const trucks: Placed[][] = []
+  let buffer = ''
+  for (;;) {
+    const { value, done } = await reader.read()
+    if (value) buffer += value
+    let newline
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+      const text = buffer.slice(0, newline).trim()
+      buffer = buffer.slice(newline + 1)
+      if (!text) continue
+      const line = JSON.parse(text) as PackStreamLine
+      if (line.type === 'truck') {
+        trucks[line.truck] = line.placements
+        onTruck(line.truck, line.placements)
+      } else if (line.type === 'done') {
+        return {
+          trucks,
+          count: line.count,
+          utilization: line.utilization,
+          strategy: line.strategy,
+          lowerBound: line.lowerBound,
+          gap: line.gap,
+          provenOptimal: line.provenOptimal
+        }
+      } else if (line.type === 'error') {
+        throw new Error(line.error)
+      }
+    }
+    if (done) throw new Error('적재 계산 응답이 중간에 끊겼습니다')
+  }
+}
+
+// 혼합 차량 적재 결과: 트럭마다 종류/비용과 배치 (좌표는 각 트럭 기준)
+export interface FleetTruck {
+  truckTypeId: number | null
+  name: string
+  width: number
+  height: number
+  cost: number
+  utilization: number
+  items: Placed[]
+}
+
+export interface FleetPackResult {
+  totalCost: number
+  count: number
+  trucks: FleetTruck[]
+}
+
+// 트럭 종류별 비용을 최소화하는 혼합 차량 적재 계산
+export async function packScenarioFleet(id: number): Promise<FleetPackResult> {
+  return await apiFetch(`/api/scenarios/${id}/pack-fleet`, {
+    method: 'POST'
+  })
+}
+
+// 트럭 크기 비교 결과 한 행 (아이템이 들어가지 않는 크기면 count 등이 null이고 error에 사유)
+export interface SweepRow {
+  width: number
+  height: number
+  count: number | null
+  utilization: number | null
+  lowerBound: number | null
+  error: string | null
+}
+
+// 후보 트럭 크기(widths × heights)마다 다시 패킹한 트럭 수/적재율 표
+export async function sweepTruckSizes(
+  id: number,
+  widths: number[],
+  heights: number[],
+  engine: PackingEngine = 'AUTO'
+): Promise<SweepRow[]> {
+  return await apiFetch(`/api/scenarios/${id}/sweep`, {
+    method: 'POST',
+    body: JSON.stringify({ widths, heights, engine })
+  })
+}
@@ -1,18 +1,19 @@
 import { useMemo, useState, useEffect, useCallback, useRef } from 'react'
 import { packIntoTrucks, type PackResult } from '../utils/packing'
 import { 
-  getAllScenarios, 
-  getFavoriteScenarios, 
+  getScenarioSummaries, 
+  getScenario, 
   createScenario, 
   updateScenario, 
   deleteScenario, 
   toggleFavorite,
-  type PackingScenario, 
+  type ScenarioSummary, 
   type CreateScenarioRequest 
 } from '../api/scenarios'
 import { isAuthenticated, onAuthChange } from '../auth/token'
 
-type ItemRow = { id: number; name: string; w: string; h: string; qty: string }
+// serverId: 불러온 시나리오의 아이템 ID (수정 저장 시 서버가 바뀐 아이템만 반영하도록 전달)
+type ItemRow = { id: number; serverId?: number; name: string; w: string; h: string; qty: string }
 
 const colorPalette = [
   { fill: '#60a5fa', stroke: '#2563eb', text: '#ffffff' },
@@ -49,13 +50,14 @@ export default function DeliveryPage() {
   const [isMobile, setIsMobile] = useState<boolean>(window.innerWidth < 768)
 
   // 시나리오 관련 상태
-  const [scenarios, setScenarios] = useState<PackingScenario[]>([])
-  const [favoriteScenarios, setFavoriteScenarios] = useState<PackingScenario[]>([])
+  const [scenarios, setScenarios] = useState<ScenarioSummary[]>([])
+  const [favoriteScenarios, setFavoriteScenarios] = useState<ScenarioSummary[]>([])
+  const [scenarioCursor, setScenarioCursor] = useState<string | null>(null)
   const [showScenarioModal, setShowScenarioModal] = useState<boolean>(false)
   const [showLoadModal, setShowLoadModal] = useState<boolean>(false)
   const [scenarioName, setScenarioName] = useState<string>('')
   const [scenarioDescription, setScenarioDescription] = useState<string>('')
-  const [editingScenario, setEditingScenario] = useState<PackingScenario | null>(null)
+  const [editingScenario, setEditingScenario] = useState<ScenarioSummary | null>(null)
   const [showNameError, setShowNameError] = useState<boolean>(false)
   const [duplicateNameError, setDuplicateNameError] = useState<boolean>(false) // 중복 이름 에러
   const [deleteTargetId, setDeleteTargetId] = useState<number | null>(null) // 삭제 확인 모달용
@@ -195,14 +197,27 @@ export default function DeliveryPage() {
     }
   }, [isLoggedIn])
 
+  // 목록은 요약만 받는다 (아이템은 불러오기 시 해당 시나리오만 조회)
   async function loadScenarios() {
     try {
-      const [allScenarios, favorites] = await Promise.all([
-        getAllScenarios(),
-        getFavoriteScenarios()
+      const [allPage, favoritePage] = await Promise.all([
+        getScenarioSummaries(),
+        getScenarioSummaries({ favorites: true, size: 100 })
       ])
-      setScenarios(allScenarios)
-      setFavoriteScenarios(favorites)
+      setScenarios(allPage.items)
+      setScenarioCursor(allPage.nextCursor)
+      setFavoriteScenarios(favoritePage.items)
+    } catch (error) {
+      console.error('시나리오 로드 실패:', error)
+    }
+  }
+
+  async function loadMoreScenarios() {
+    if (!scenarioCursor) return
+    try {
+      const page = await getScenarioSummaries({ cursor: scenarioCursor })
+      setScenarios(prev => [...prev, ...page.items])
+      setScenarioCursor(page.nextCursor)
     } catch (error) {
       console.error('시나리오 로드 실패:', error)
     }
@@ -227,6 +242,7 @@ export default function DeliveryPage() {
           return w > 0 && h > 0 && qty > 0
         })
         .map((item, index) => ({
+          id: editingScenario ? item.serverId : undefined,
           name: item.name.trim() || `물품${index + 1}`,
           width: parseInt(item.w || '0', 10),
           height: parseInt(item.h || '0', 10),
@@ -280,7 +296,16 @@ export default function DeliveryPage() {
     }
   }
 
-  async function loadScenario(scenario: PackingScenario) {
+  async function loadScenario(summary: ScenarioSummary) {
+    let scenario
+    try {
+      scenario = await getScenario(summary.id)
+    } catch (error) {
+      console.error('시나리오 불러오기 실패:', error)
+      alert('시나리오를 불러오지 못했습니다.')
+      return
+    }
+
     setBinWStr(scenario.truckWidth.toString())
     setBinHStr(scenario.truckHeight.toString())
     setAllowRotate(scenario.allowRotate)
@@ -288,6 +313,7 @@ export default function DeliveryPage() {
 
     const newItems: ItemRow[] = scenario.items.map((item, index) => ({
       id: index + 1,
+      serverId: item.id,
       name: item.name,
       w: item.width.toString(),
       h: item.height.toString(),
@@ -311,12 +337,7 @@ export default function DeliveryPage() {
       await deleteScenario(deleteTargetId)
       console.log('시나리오 삭제 성공:', deleteTargetId)
       // 시나리오 목록 다시 로드
-      const [allScenarios, favorites] = await Promise.all([
-        getAllScenarios(),
-        getFavoriteScenarios()
-      ])
-      setScenarios(allScenarios)
-      setFavoriteScenarios(favorites)
+      await loadScenarios()
       console.log('시나리오 목록 갱신 완료')
     } catch (error) {
       console.error('시나리오 삭제 실패:', error)
@@ -348,7 +369,7 @@ export default function DeliveryPage() {
     setShowScenarioModal(true)
   }
 
-  function openEditModal(scenario: PackingScenario) {
+  function openEditModal(scenario: ScenarioSummary) {
     setEditingScenario(scenario)
     setScenarioName(scenario.name)
     setScenarioDescription(scenario.description || '')
@@ -822,8 +843,8 @@ export default function DeliveryPage() {
                         scenario={scenario}
                         onLoad={() => loadScenario(scenario)}
                         onEdit={() => openEditModal(scenario)}
-                        onDelete={() => deleteScenarioHandler(scenario.id!)}
-                        onToggleFavorite={() => toggleFavoriteHandler(scenario.id!)}
+                        onDelete={() => deleteScenarioHandler(scenario.id)}
+                        onToggleFavorite={() => toggleFavoriteHandler(scenario.id)}
                       />
                     ))}
                   </div>
@@ -843,12 +864,17 @@ export default function DeliveryPage() {
                         scenario={scenario}
                         onLoad={() => loadScenario(scenario)}
                         onEdit={() => openEditModal(scenario)}
-                        onDelete={() => deleteScenarioHandler(scenario.id!)}
-                        onToggleFavorite={() => toggleFavoriteHandler(scenario.id!)}
+                        onDelete={() => deleteScenarioHandler(scenario.id)}
+                        onToggleFavorite={() => toggleFavoriteHandler(scenario.id)}
                       />
                     ))}
                   </div>
                 )}
+                {scenarioCursor && (
+                  <button className="btn ghost" onClick={loadMoreScenarios} style={{ marginTop: 12, width: '100%' }}>
+                    더 보기
+                  </button>
+                )}
               </div>
             </div>
           </div>
@@ -915,7 +941,7 @@ function ScenarioCard({
   onDelete, 
   onToggleFavorite 
 }: { 
-  scenario: PackingScenario
+  scenario: ScenarioSummary
   onLoad: () => void
   onEdit: () => void
   onDelete: () => void
@@ -974,7 +1000,13 @@ function ScenarioCard({
         color: 'var(--muted)' 
       }}>
         <div>트럭: {scenario.truckWidth}×{scenario.truckHeight}mm</div>
-        <div>아이템: {scenario.items.length}개</div>
+        <div>아이템: {scenario.itemTypeCount}종 {scenario.totalQuantity}개</div>
+        {scenario.packedTruckCount != null && (
+          <div>
+            적재: {scenario.packedTruckCount}대
+            {scenario.packedUtilization != null && ` (${Math.round(scenario.packedUtilization * 100)}%)`}
+          </div>
+        )}
         <div>회전: {scenario.allowRotate ? '허용' : '비허용'}</div>
         <div>마진: {scenario.margin}mm</div>
       </div>
@@ -0,0 +1,77 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 빈 공간 수에 따른 패킹 시간 비교 (LIST: FreeRectList 전체 스캔 + 전체 쌍 포함 검사, INDEX: FreeRectIndex 격자 색인).
+ * 결과는 패킹 한 번의 평균 시간이므로 units로 나누면 배치 1건당 시간이다.
+ * ./gradlew jmh -PjmhIncludes=FreeSpaceBenchmark 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FreeSpaceBenchmark {
+
+    @Param({"250", "500", "1000", "2000", "4000", "8000"})
+    public int units;
+
+    @Param({"LIST", "INDEX"})
+    public String store;
+
+    private PackingInstance instance;
+    private int[] sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = instance(units);
+        sequence = instance.unitSequence();
+        // 두 구현의 배치가 같아야 시간 비교가 의미 있다
+        PackingLayout expected = new MaxRectsPacker(instance, FitRule.BSSF, new FreeRectList()).pack(sequence);
+        PackingLayout actual = new MaxRectsPacker(instance, FitRule.BSSF, new FreeRectIndex()).pack(sequence);
+        assertSameLayout(expected, actual);
+    }
+
+    @Benchmark
+    public PackingLayout pack() {
+        FreeSpace free = store.equals("LIST") ? new FreeRectList() : new FreeRectIndex();
+        return new MaxRectsPacker(instance, FitRule.BSSF, free).pack(sequence);
+    }
+
+    // 작은 아이템을 한 트럭에 모두 담기도록 큰 트럭을 써서 빈 공간 수가 수량에 비례해 늘어나게 한다
+    private static PackingInstance instance(int units) {
+        Random random = new Random(units);
+        int types = 40;
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            widths[t] = 3 + random.nextInt(30);
+            heights[t] = 3 + random.nextInt(30);
+            quantities[t] = units / types;
+        }
+        int side = (int) Math.sqrt(units * 400.0);
+        return new PackingInstance(side, side, true, 0, new long[types], new String[types], widths, heights, quantities);
+    }
+
+    private void assertSameLayout(PackingLayout expected, PackingLayout actual) {
+        boolean same = expected.size() == actual.size() && expected.truckCount() == actual.truckCount();
+        for (int i = 0; same && i < expected.size(); i++) {
+            same = expected.x(i) == actual.x(i) && expected.y(i) == actual.y(i)
+                    && expected.rotated(i) == actual.rotated(i) && expected.truck(i) == actual.truck(i);
+        }
+        if (!same) {
+            throw new IllegalStateException("FreeRectList와 FreeRectIndex의 배치가 다릅니다 (units=" + units + ")");
+        }
+    }
+}
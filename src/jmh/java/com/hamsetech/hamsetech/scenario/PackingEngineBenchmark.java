@@ -0,0 +1,60 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔진별 패킹 처리량(ops/s)과 결과 품질({@link PackingQuality}). 할당률은 build.gradle의 jmh 설정(gc 프로파일러)으로
+ * 함께 기록된다. 입력은 {@link ScenarioGenerator}로 시드에서 만들므로 같은 파라미터면 실행마다 같은 입력을 잰다.
+ * PATTERN은 종류가 많으면 한 번에 수십 초가 걸려 {@link PatternPackerBenchmark}에서 따로 잰다.
+ * ./gradlew jmh -PjmhIncludes=PackingEngineBenchmark 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PackingEngineBenchmark {
+
+    // ScenarioGenerator.Distribution 이름 (생성 코드가 패키지 밖에 있어 문자열로 받는다)
+    @Param({"UNIFORM", "BIMODAL", "LONG_THIN", "HIGH_QUANTITY"})
+    public String distribution;
+
+    @Param({"MAXRECTS", "SKYLINE", "GUILLOTINE", "BLOCK"})
+    public String engine;
+
+    @Param({"1000", "20000"})
+    public int units;
+
+    @Param({"42"})
+    public long seed;
+
+    private PackingInstance instance;
+    private int[] sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = ScenarioGenerator.generate(ScenarioGenerator.Distribution.valueOf(distribution), units, seed);
+        sequence = instance.unitSequence();
+    }
+
+    @Benchmark
+    public PackingLayout pack(PackingQuality quality) {
+        PackingLayout layout = switch (engine) {
+            case "MAXRECTS" -> new MaxRectsPacker(instance).pack(sequence);
+            case "SKYLINE" -> new SkylinePacker(instance).pack(sequence);
+            case "GUILLOTINE" -> new GuillotinePacker(instance).pack(sequence);
+            case "BLOCK" -> new BlockPacker(instance).pack(SortOrder.AREA_DESC);
+            default -> throw new IllegalArgumentException("알 수 없는 엔진: " + engine);
+        };
+        quality.record(instance, layout);
+        return layout;
+    }
+}
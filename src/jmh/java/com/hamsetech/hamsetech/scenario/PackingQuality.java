@@ -0,0 +1,31 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 벤치마크 결과에 함께 기록할 패킹 품질 (JMH 보조 카운터). 입력이 고정이므로 매 연산 같은 값이며,
+ * 마지막 연산의 트럭 수와 적재율(천분율)을 남긴다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PackingQuality {
+
+    public long trucks;
+
+    public long utilizationPermille;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        trucks = 0;
+        utilizationPermille = 0;
+    }
+
+    void record(PackingInstance instance, PackingLayout layout) {
+        trucks = layout.truckCount();
+        utilizationPermille = Math.round(layout.utilization(instance.binWidth(), instance.binHeight()) * 1000);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 패턴 기반 패커(PATTERN) 처리량과 품질. 대상인 종류가 적고 수량이 많은 분포(HIGH_QUANTITY)에서만 잰다.
+ * 수량이 늘어도 시간이 거의 같아야 한다 (연산량이 종류 수와 서로 다른 패턴 수에 비례).
+ * ./gradlew jmh -PjmhIncludes=PatternPackerBenchmark 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PatternPackerBenchmark {
+
+    @Param({"1000", "20000", "200000"})
+    public int units;
+
+    @Param({"42"})
+    public long seed;
+
+    private PackingInstance instance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = ScenarioGenerator.generate(ScenarioGenerator.Distribution.HIGH_QUANTITY, units, seed);
+    }
+
+    @Benchmark
+    public PackingLayout pack(PackingQuality quality) {
+        PackingLayout layout = new PatternPacker(instance).pack();
+        quality.record(instance, layout);
+        return layout;
+    }
+}
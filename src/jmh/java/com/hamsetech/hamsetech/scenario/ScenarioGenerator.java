@@ -0,0 +1,99 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Random;
+
+/**
+ * 벤치마크용 시나리오 생성기. 시드가 같으면 JVM/실행과 관계없이 같은 입력을 만든다 (java.util.Random은 알고리즘이 고정).
+ * 트럭은 2400 × 12000mm, 아이템 종류는 PackingInstance.of와 같이 (가로, 세로, 수량) 정규형으로 만든다.
+ */
+final class ScenarioGenerator {
+
+    static final int BIN_WIDTH = 2400;
+    static final int BIN_HEIGHT = 12000;
+    static final int MARGIN = 10;
+
+    /** 아이템 크기 분포 */
+    enum Distribution {
+        /** 가로/세로 모두 100~1200mm 균등 분포, 종류 30개 */
+        UNIFORM,
+        /** 작은 아이템(100~400mm)과 큰 아이템(800~1600mm)이 반씩, 종류 30개 */
+        BIMODAL,
+        /** 한 변 1000~2400mm, 다른 변 50~250mm인 긴 아이템, 종류 30개 */
+        LONG_THIN,
+        /** 200~800mm 아이템 종류 4개에 수량이 몰린 경우 (PATTERN/BLOCK 대상) */
+        HIGH_QUANTITY
+    }
+
+    private ScenarioGenerator() {
+    }
+
+    /** units: 전체 수량 (종류마다 거의 같게 나눈다) */
+    static PackingInstance generate(Distribution distribution, int units, long seed) {
+        Random random = new Random(seed * 31 + distribution.ordinal());
+        int types = Math.min(units, distribution == Distribution.HIGH_QUANTITY ? 4 : 30);
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            switch (distribution) {
+                case UNIFORM -> {
+                    widths[t] = between(random, 100, 1200);
+                    heights[t] = between(random, 100, 1200);
+                }
+                case BIMODAL -> {
+                    boolean large = t % 2 == 1;
+                    widths[t] = large ? between(random, 800, 1600) : between(random, 100, 400);
+                    heights[t] = large ? between(random, 800, 1600) : between(random, 100, 400);
+                }
+                case LONG_THIN -> {
+                    int length = between(random, 1000, 2400);
+                    int thickness = between(random, 50, 250);
+                    boolean across = random.nextBoolean();
+                    widths[t] = across ? length : thickness;
+                    heights[t] = across ? thickness : length;
+                }
+                case HIGH_QUANTITY -> {
+                    widths[t] = between(random, 200, 800);
+                    heights[t] = between(random, 200, 800);
+                }
+            }
+            quantities[t] = units / types + (t < units % types ? 1 : 0);
+        }
+        sortCanonical(widths, heights, quantities);
+
+        long[] ids = new long[types];
+        String[] names = new String[types];
+        for (int t = 0; t < types; t++) {
+            ids[t] = t + 1;
+            names[t] = distribution.name().toLowerCase() + "-" + (t + 1);
+        }
+        return new PackingInstance(BIN_WIDTH, BIN_HEIGHT, true, MARGIN, ids, names, widths, heights, quantities);
+    }
+
+    private static int between(Random random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    // PackingInstance.of와 같은 (가로, 세로, 수량) 오름차순 (종류 수가 적어 삽입 정렬)
+    private static void sortCanonical(int[] widths, int[] heights, int[] quantities) {
+        for (int i = 1; i < widths.length; i++) {
+            for (int j = i; j > 0 && compare(widths, heights, quantities, j - 1, j) > 0; j--) {
+                swap(widths, j - 1, j);
+                swap(heights, j - 1, j);
+                swap(quantities, j - 1, j);
+            }
+        }
+    }
+
+    private static int compare(int[] widths, int[] heights, int[] quantities, int a, int b) {
+        if (widths[a] != widths[b]) return Integer.compare(widths[a], widths[b]);
+        if (heights[a] != heights[b]) return Integer.compare(heights[a], heights[b]);
+        return Integer.compare(quantities[a], quantities[b]);
+    }
+
+    private static void swap(int[] values, int a, int b) {
+        int v = values[a];
+        values[a] = values[b];
+        values[b] = v;
+    }
+}
@@ -19,6 +19,45 @@ public class SchemaFixer {
             }
         };
     }
-}
 
+    @Bean
+    CommandLineRunner ensurePackingLayoutModeCheckConstraint(JdbcTemplate jdbc) {
+        return args -> {
+            try {
+                jdbc.execute("ALTER TABLE packing_layouts DROP CONSTRAINT IF EXISTS packing_layouts_mode_check");
+                jdbc.execute("ALTER TABLE packing_layouts ADD CONSTRAINT packing_layouts_mode_check CHECK (mode IN ('GREEDY','RACE','BLOCK','EXACT','PATTERN','INCREMENTAL','AUTO','SCALE'))");
+            } catch (Exception ignore) {
+                // best-effort: ignore if DB user has no permission or constraint managed elsewhere
+            }
+        };
+    }
 
+    @Bean
+    CommandLineRunner ensurePackingScenarioTrucksIndex(JdbcTemplate jdbc) {
+        return args -> {
+            try {
+                // 목록 트럭 수 정렬(findSummariesByTruckCount)은 COALESCE(packed_truck_count, 0)로 비교/정렬하므로
+                // 컬럼 인덱스 대신 같은 식의 인덱스가 있어야 정렬 없이 키셋 페이지를 읽는다
+                jdbc.execute("DROP INDEX IF EXISTS idx_packing_scenarios_user_trucks");
+                jdbc.execute("CREATE INDEX IF NOT EXISTS idx_packing_scenarios_user_trucks_coalesce "
+                        + "ON packing_scenarios (user_id, (COALESCE(packed_truck_count, 0)), id)");
+            } catch (Exception ignore) {
+                // best-effort: ignore if DB user has no permission or index managed elsewhere
+            }
+        };
+    }
+
+    @Bean
+    CommandLineRunner syncPackingItemSequence(JdbcTemplate jdbc) {
+        return args -> {
+            try {
+                // IDENTITY로 만든 기존 행과 겹치지 않도록 시퀀스를 현재 최대 ID에 맞춘다 (pooled: 다음 할당은 최대 ID + 1부터)
+                jdbc.execute("CREATE SEQUENCE IF NOT EXISTS packing_items_seq START WITH 1 INCREMENT BY 50");
+                jdbc.execute("SELECT setval('packing_items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM packing_items), "
+                        + "(SELECT last_value FROM packing_items_seq), 1))");
+            } catch (Exception ignore) {
+                // best-effort: ignore if DB user has no permission or sequence managed elsewhere
+            }
+        };
+    }
+}
@@ -24,6 +24,9 @@ public class CorsConfig {
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                         .allowedHeaders("*")
+                        // 압축 레이아웃(바이너리) 응답의 부가 정보
+                        .exposedHeaders("X-Packing-Item-Ids", "X-Packing-Strategy", "X-Packing-Lower-Bound",
+                                "X-Packing-Proven-Optimal")
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,56 @@
+package com.hamsetech.hamsetech.config;
+
+import com.hamsetech.hamsetech.scenario.PackingProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableScheduling
+public class PackingExecutorConfig {
+
+    /**
+     * 패킹 연산 전용 풀. 공용 풀(commonPool)과 분리해 병렬 스트림 등 다른 작업과 CPU를 다투지 않게 한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool packingPool(PackingProperties properties) {
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * 제한 시간 최적화 전용 풀. 한 작업이 수 초간 스레드를 점유하므로 packingPool과 분리하고,
+     * 대기열 없이 maxConcurrent개만 받아 초과 요청은 바로 거절(RejectedExecutionException)한다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService packingOptimizerExecutor(PackingProperties properties) {
+        int threads = Math.max(1, properties.getOptimize().getMaxConcurrent());
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+    }
+
+    /**
+     * 비동기 적재 작업용 가상 스레드 실행기. 동시 계산 수 제한은 PackingJobService의 세마포어가 맡는다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService packingJobExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("packing-job-", 0).factory());
+    }
+
+    /**
+     * 시나리오 목록 적재 통계 갱신용 단일 스레드 실행기. 갱신이 요청 순서대로 하나씩 처리되어
+     * 같은 시나리오의 이전 갱신이 나중 갱신을 덮어쓰지 않고, 요청 처리 스레드와 CPU를 다투는 양도 제한된다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService scenarioStatsExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("scenario-stats").daemon().factory());
+    }
+}
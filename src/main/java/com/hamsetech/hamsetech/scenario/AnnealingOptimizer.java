@@ -0,0 +1,97 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * 배치 순서에 대한 담금질 기법(simulated annealing) 최적화. 순서를 조금씩 바꿔(교환/이동) MaxRects(BSSF)로 다시 패킹하고,
+ * 나빠진 순서도 온도에 따라 확률적으로 받아들여 지역 최적에서 벗어난다. 마감 시각까지 계속 개선하며(anytime)
+ * 지금까지의 최고 결과보다 엄격히 좋은 결과를 찾을 때마다 콜백으로 알린다.
+ */
+final class AnnealingOptimizer {
+
+    static final String STRATEGY = "ANNEAL/BSSF";
+
+    // 비용은 트럭 수 + 마지막 트럭 적재율(0~1)이므로 온도도 같은 단위
+    private static final double START_TEMPERATURE = 0.3;
+    private static final double END_TEMPERATURE = 0.002;
+
+    private final PackingInstance instance;
+    private final MaxRectsPacker packer;
+    private final double binArea;
+    private final Random random;
+
+    AnnealingOptimizer(PackingInstance instance, long seed) {
+        this.instance = instance;
+        this.packer = new MaxRectsPacker(instance);
+        this.binArea = (double) instance.binWidth() * instance.binHeight();
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param initial    시작 결과 (이미 호출자에게 전달된 것으로 보고 다시 알리지 않는다)
+     * @param lowerBound 트럭 수가 이 값에 도달하면 더 줄일 수 없으므로 멈춘다
+     */
+    PackingResult optimize(PackingResult initial, long deadlineNanos, int lowerBound, Consumer<PackingResult> onImprove) {
+        int[] current = instance.unitSequence();
+        if (current.length < 2 || instance.typeCount() < 2) return initial;
+
+        PackingResult best = initial;
+        double currentCost = cost(packer.pack(current));
+        long start = System.nanoTime();
+        double span = Math.max(1, deadlineNanos - start);
+        int[] candidate = new int[current.length];
+
+        while (best.layout().truckCount() > lowerBound && !Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (now >= deadlineNanos) break;
+            double temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, (now - start) / span);
+
+            System.arraycopy(current, 0, candidate, 0, current.length);
+            if (!perturb(candidate)) continue;
+            PackingLayout layout = packer.pack(candidate);
+            double candidateCost = cost(layout);
+            double delta = candidateCost - currentCost;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                int[] swap = current;
+                current = candidate;
+                candidate = swap;
+                currentCost = candidateCost;
+            }
+
+            PackingResult result = new PackingResult(layout, STRATEGY);
+            if (result.isBetterThan(best)) {
+                best = result;
+                onImprove.accept(best);
+            }
+        }
+        return best;
+    }
+
+    private double cost(PackingLayout layout) {
+        int trucks = layout.truckCount();
+        return trucks + layout.truckArea(trucks - 1) / binArea;
+    }
+
+    /** 종류가 다른 두 아이템의 위치를 바꾸거나, 한 아이템을 다른 위치로 옮긴다. 순서가 바뀌지 않았으면 false */
+    private boolean perturb(int[] sequence) {
+        int n = sequence.length;
+        int i = random.nextInt(n);
+        int j = random.nextInt(n);
+        if (sequence[i] == sequence[j]) return false;
+        if (random.nextBoolean()) {
+            int t = sequence[i];
+            sequence[i] = sequence[j];
+            sequence[j] = t;
+        } else {
+            int t = sequence[i];
+            if (i < j) {
+                System.arraycopy(sequence, i + 1, sequence, i, j - i);
+            } else {
+                System.arraycopy(sequence, j, sequence, j + 1, i - j);
+            }
+            sequence[j] = t;
+        }
+        return true;
+    }
+}
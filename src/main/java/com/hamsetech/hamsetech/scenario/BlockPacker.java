@@ -0,0 +1,113 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 수량을 낱개로 펼치지 않고 같은 종류의 아이템을 격자 블록 단위로 한 번에 배치하는 패커.
+ *
+ * 종류를 면적 내림차순으로 처리하면서, 현재 트럭의 빈 공간 중 남은 수량을 가장 많이 담을 수 있는 곳에
+ * cols × rows 블록을 통째로 놓고 빈 공간은 블록 전체 영역으로 한 번만 갱신한다. 남은 수량이 한 줄에
+ * 못 미치면 그만큼만 한 줄로 놓는다. 빈 공간 탐색/갱신 횟수가 전체 수량이 아니라 종류 수와 블록 수에
+ * 비례하므로 같은 아이템이 수천 개인 시나리오에서도 빠르다. 트럭은 MaxRectsPacker처럼 순서대로 채운다.
+ */
+final class BlockPacker {
+
+    private final PackingInstance instance;
+    private final int binW;
+    private final int binH;
+    private final int margin;
+    private final FreeSpace free = new FreeRectIndex();
+
+    // findBestBlock 결과
+    private int bestX;
+    private int bestY;
+    private int bestCols;
+    private int bestRows;
+    private int bestOrientation;
+
+    BlockPacker(PackingInstance instance) {
+        this.instance = instance;
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.margin = instance.margin();
+    }
+
+    PackingLayout pack(SortOrder order) {
+        int[] types = instance.typeOrder(order);
+        PackingLayout layout = new PackingLayout((int) Math.min(instance.unitCount(), Integer.MAX_VALUE - 8));
+        int truck = 0;
+        boolean truckUsed = false;
+        free.reset(binW, binH);
+
+        for (int type : types) {
+            int remaining = instance.quantities()[type];
+            int w = instance.widths()[type];
+            int h = instance.heights()[type];
+
+            while (remaining > 0) {
+                if (!findBestBlock(w + margin, h + margin, remaining)) {
+                    if (truckUsed) truck++;
+                    free.reset(binW, binH);
+                    // 빈 트럭에도 들어가지 않는 아이템이면 예외 (무한 반복 방지)
+                    instance.firstFittingOrientation(type);
+                    continue;
+                }
+
+                boolean rotated = bestOrientation == 1;
+                int displayW = rotated ? h : w;
+                int displayH = rotated ? w : h;
+                int stepW = displayW + margin;
+                int stepH = displayH + margin;
+                for (int r = 0; r < bestRows; r++) {
+                    for (int c = 0; c < bestCols; c++) {
+                        layout.place(type, bestX + c * stepW, bestY + r * stepH, displayW, displayH, rotated, truck);
+                    }
+                }
+                truckUsed = true;
+                remaining -= bestCols * bestRows;
+                free.place(bestX, bestY, bestCols * stepW, bestRows * stepH);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * 남은 수량 중 가장 많이 담기는 (빈 공간, 방향)을 고르고, 같으면 블록 둘레의 남는 짧은 변이 작은 곳(BSSF),
+     * 그다음 위쪽/왼쪽 위치를 고른다.
+     */
+    private boolean findBestBlock(int packW, int packH, int remaining) {
+        long bestUnits = 0;
+        long bestLeftover = Long.MAX_VALUE;
+        int orientations = instance.allowRotate() ? 2 : 1;
+        for (int o = 0; o < orientations; o++) {
+            int pw = o == 0 ? packW : packH;
+            int ph = o == 0 ? packH : packW;
+            int n = free.collectFits(pw, ph);
+            for (int k = 0; k < n; k++) {
+                int slot = free.candidate(k);
+                int fx = free.x(slot);
+                int fy = free.y(slot);
+                int fw = free.w(slot);
+                int fh = free.h(slot);
+                int cols = Math.min(fw / pw, remaining);
+                int rows = Math.min(fh / ph, remaining / cols);
+                long units = (long) cols * rows;
+                int leftoverW = fw - cols * pw;
+                int leftoverH = fh - rows * ph;
+                long leftover = (long) Math.min(leftoverW, leftoverH) * 10000 + Math.max(leftoverW, leftoverH);
+                boolean better = units != bestUnits ? units > bestUnits
+                        : leftover != bestLeftover ? leftover < bestLeftover
+                        : fy != bestY ? fy < bestY
+                        : fx < bestX;
+                if (better) {
+                    bestUnits = units;
+                    bestLeftover = leftover;
+                    bestX = fx;
+                    bestY = fy;
+                    bestCols = cols;
+                    bestRows = rows;
+                    bestOrientation = o;
+                }
+            }
+        }
+        return bestUnits > 0;
+    }
+}
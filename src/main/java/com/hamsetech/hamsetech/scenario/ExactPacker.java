@@ -0,0 +1,358 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 아이템 수가 적은 시나리오용 정확 해법 (분기 한정, branch-and-bound).
+ *
+ * 트럭 수 m을 하한부터 (휴리스틱 상한 - 1)까지 늘려 가며 "m대에 모두 실을 수 있는가"를 판정한다.
+ * 처음 가능한 m이 최적이고, 상한 미만이 모두 불가능하면 휴리스틱 결과가 최적임이 증명된다.
+ * <ul>
+ *   <li>배정: 면적 내림차순으로 아이템을 열린 트럭 또는 다음 빈 트럭 하나에만 넣는다 (빈 트럭끼리의 대칭 제거).
+ *       같은 종류 아이템은 앞 아이템보다 앞 번호 트럭에 넣지 않고, 내용이 같은 트럭은 첫 번째만 시도한다.</li>
+ *   <li>한정: 남은 면적이 남은 공간보다 크거나, 트럭 중앙을 덮는 큰 아이템이 남은 트럭 수보다 많으면 가지를 자른다.</li>
+ *   <li>트럭 한 대 판정: 좌표를 normal pattern(다른 아이템 치수의 부분합)으로만 제한한 백트래킹.
+ *       같은 종류는 앞 아이템보다 (y, x)가 뒤인 위치에만 놓고, 배치를 좌우/상하로 뒤집어도 되므로 첫 아이템은 왼쪽 위 사분면에만 놓는다.
+ *       항상 폭이 절반을 넘는 아이템들의 높이 합이 트럭 높이를 넘으면(높이 방향도 같음) 탐색 없이 불가능으로 본다.
+ *       판정 결과는 종류 다중집합 단위로 캐시한다.</li>
+ * </ul>
+ * 노드 수/시간 예산을 넘으면 탐색을 멈추고 휴리스틱 결과를 그대로 돌려준다 (provenOptimal=false).
+ * 휴리스틱 결과가 최적임을 증명하면 전략 이름 뒤에 "+EXACT"를 붙여 저장된 결과에서도 증명 여부를 알 수 있게 한다.
+ */
+final class ExactPacker {
+
+    static final String STRATEGY = "EXACT";
+
+    private static final int[] INFEASIBLE = new int[0];
+
+    private final PackingInstance instance;
+    private final int binW;
+    private final int binH;
+    private final long binArea;
+    private final long nodeLimit;
+    private final long deadlineNanos;
+
+    // 종류별 마진 포함 치수와 회전 가능 여부
+    private final int[] packW;
+    private final int[] packH;
+    private final boolean[] rotatable;
+    private final boolean[] uprightFits;
+
+    // 수량을 펼친 아이템: 면적 내림차순, 같은 종류는 연속
+    private final int n;
+    private final int[] unitType;
+    private final long[] unitArea;
+    private final boolean[] unitBig;
+    private final long[] suffixArea;
+    private final int[] suffixBig;
+
+    // 배정 상태
+    private final int[] binOf;
+    private int[][] binUnits;
+    private int[] binSize;
+    private long[] binUsed;
+    private boolean[] binHasBig;
+    private int opened;
+
+    private final Map<BinKey, int[]> binCache = new HashMap<>();
+    private long nodes;
+    private boolean exhausted;
+
+    private record BinKey(int[] types) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BinKey k && Arrays.equals(k.types, types);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(types);
+        }
+    }
+
+    ExactPacker(PackingInstance instance, long nodeLimit, long deadlineNanos) {
+        this.instance = instance;
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.binArea = (long) binW * binH;
+        this.nodeLimit = nodeLimit;
+        this.deadlineNanos = deadlineNanos;
+
+        int types = instance.typeCount();
+        packW = new int[types];
+        packH = new int[types];
+        rotatable = new boolean[types];
+        uprightFits = new boolean[types];
+        instance.requireAllFit();
+        for (int t = 0; t < types; t++) {
+            packW[t] = instance.widths()[t] + instance.margin();
+            packH[t] = instance.heights()[t] + instance.margin();
+            uprightFits[t] = packW[t] <= binW && packH[t] <= binH;
+            rotatable[t] = instance.allowRotate() && packH[t] <= binW && packW[t] <= binH && packW[t] != packH[t];
+        }
+
+        int[] sequence = instance.unitSequence();
+        n = sequence.length;
+        unitType = sequence;
+        unitArea = new long[n];
+        unitBig = new boolean[n];
+        suffixArea = new long[n + 1];
+        suffixBig = new int[n + 1];
+        for (int k = 0; k < n; k++) {
+            int t = sequence[k];
+            unitArea[k] = (long) packW[t] * packH[t];
+            boolean bigUpright = 2 * packW[t] > binW && 2 * packH[t] > binH;
+            boolean bigRotated = 2 * packH[t] > binW && 2 * packW[t] > binH;
+            unitBig[k] = (!uprightFits[t] || bigUpright) && (!rotatable[t] || bigRotated);
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            suffixArea[k] = suffixArea[k + 1] + unitArea[k];
+            suffixBig[k] = suffixBig[k + 1] + (unitBig[k] ? 1 : 0);
+        }
+        binOf = new int[n];
+    }
+
+    /**
+     * @param upper      휴리스틱 결과 (상한)
+     * @param lowerBound {@link PackingBounds} 하한
+     */
+    PackingResult solve(PackingResult upper, int lowerBound) {
+        int ub = upper.layout().truckCount();
+        if (ub <= lowerBound) return new PackingResult(upper.layout(), upper.strategy(), true);
+        // 트럭별 배열은 가장 큰 m(ub - 1) 크기로 한 번만 만든다. 트럭 b는 열릴 때 비어 있으므로 m마다 앞부분만 비운다
+        binUnits = new int[ub - 1][n];
+        binSize = new int[ub - 1];
+        binUsed = new long[ub - 1];
+        binHasBig = new boolean[ub - 1];
+        for (int m = Math.max(1, lowerBound); m < ub; m++) {
+            Arrays.fill(binSize, 0);
+            Arrays.fill(binUsed, 0);
+            Arrays.fill(binHasBig, false);
+            opened = 0;
+            if (assign(0, m)) return new PackingResult(buildLayout(), STRATEGY, true);
+            if (exhausted) return upper;
+        }
+        // 상한보다 적은 트럭으로는 불가능하므로 휴리스틱 결과가 최적
+        return new PackingResult(upper.layout(), upper.strategy() + "+" + STRATEGY, true);
+    }
+
+    /** 정확 해법이 만들었거나 최적임을 증명한 결과의 전략 이름인지 */
+    static boolean isProven(String strategy) {
+        return strategy.equals(STRATEGY) || strategy.endsWith("+" + STRATEGY);
+    }
+
+    /** 노드 수/시간 예산 소비. 예산을 넘으면 false */
+    private boolean tick() {
+        nodes++;
+        if (nodes > nodeLimit || ((nodes & 1023) == 0 && System.nanoTime() > deadlineNanos)) exhausted = true;
+        return !exhausted;
+    }
+
+    private boolean assign(int k, int m) {
+        if (k == n) return true;
+        if (exhausted || !tick()) return false;
+
+        long freeArea = (long) (m - opened) * binArea;
+        int bigSlots = m - opened;
+        for (int b = 0; b < opened; b++) {
+            freeArea += binArea - binUsed[b];
+            if (!binHasBig[b]) bigSlots++;
+        }
+        if (suffixArea[k] > freeArea || suffixBig[k] > bigSlots) return false;
+
+        int first = k > 0 && unitType[k - 1] == unitType[k] ? binOf[k - 1] : 0;
+        for (int b = first; b < opened; b++) {
+            if (binUsed[b] + unitArea[k] > binArea) continue;
+            if (unitBig[k] && binHasBig[b]) continue;
+            if (sameAsEarlierBin(b, first)) continue;
+            push(k, b);
+            if (binFeasible(b) && assign(k + 1, m)) return true;
+            pop(k, b);
+            if (exhausted) return false;
+        }
+        if (opened < m) {
+            int b = opened++;
+            push(k, b);
+            if (assign(k + 1, m)) return true;
+            pop(k, b);
+            opened--;
+        }
+        return false;
+    }
+
+    // 앞 번호 트럭 중 내용(종류 다중집합)이 같은 트럭이 있으면 이 트럭에 넣는 가지는 그 트럭에 넣는 가지와 대칭이다
+    private boolean sameAsEarlierBin(int b, int from) {
+        for (int a = from; a < b; a++) {
+            if (binSize[a] == binSize[b] && binUsed[a] == binUsed[b] && sameTypes(a, b)) return true;
+        }
+        return false;
+    }
+
+    private boolean sameTypes(int a, int b) {
+        for (int i = 0; i < binSize[a]; i++) {
+            if (unitType[binUnits[a][i]] != unitType[binUnits[b][i]]) return false;
+        }
+        return true;
+    }
+
+    private void push(int k, int b) {
+        binUnits[b][binSize[b]++] = k;
+        binUsed[b] += unitArea[k];
+        if (unitBig[k]) binHasBig[b] = true;
+        binOf[k] = b;
+    }
+
+    private void pop(int k, int b) {
+        binSize[b]--;
+        binUsed[b] -= unitArea[k];
+        if (unitBig[k]) binHasBig[b] = false;
+    }
+
+    private BinKey keyOf(int b) {
+        int[] types = new int[binSize[b]];
+        for (int i = 0; i < types.length; i++) types[i] = unitType[binUnits[b][i]];
+        return new BinKey(types);
+    }
+
+    private boolean binFeasible(int b) {
+        if (binSize[b] == 1) return true;
+        BinKey key = keyOf(b);
+        int[] cached = binCache.get(key);
+        if (cached == null) {
+            cached = packBin(key.types());
+            if (exhausted) return false;
+            binCache.put(key, cached);
+        }
+        return cached != INFEASIBLE;
+    }
+
+    // ---- 트럭 한 대 판정 ----
+
+    private int[] px;
+    private int[] py;
+    private int[] pw;
+    private int[] ph;
+    private boolean[] pr;
+
+    /** 종류 목록을 트럭 한 대에 놓을 수 있으면 (x, y, 회전) 배열, 아니면 INFEASIBLE */
+    private int[] packBin(int[] types) {
+        int s = types.length;
+        if (!stripsFit(types)) return INFEASIBLE;
+        int[] xs = normalPatterns(types, packW, packH, binW);
+        int[] ys = normalPatterns(types, packH, packW, binH);
+        px = new int[s];
+        py = new int[s];
+        pw = new int[s];
+        ph = new int[s];
+        pr = new boolean[s];
+        if (!place(types, 0, xs, ys)) return INFEASIBLE;
+        int[] placement = new int[s * 3];
+        for (int i = 0; i < s; i++) {
+            placement[3 * i] = px[i];
+            placement[3 * i + 1] = py[i];
+            placement[3 * i + 2] = pr[i] ? 1 : 0;
+        }
+        return placement;
+    }
+
+    private boolean place(int[] types, int i, int[] xs, int[] ys) {
+        if (i == types.length) return true;
+        if (!tick()) return false;
+        int t = types[i];
+        for (int o = 0; o < 2; o++) {
+            if (o == 0 ? !uprightFits[t] : !rotatable[t]) continue;
+            int w = o == 0 ? packW[t] : packH[t];
+            int h = o == 0 ? packH[t] : packW[t];
+            for (int y : ys) {
+                if (y + h > binH) break;
+                for (int x : xs) {
+                    if (x + w > binW) break;
+                    if (i == 0 && (2 * x > binW - w || 2 * y > binH - h)) continue;
+                    // 같은 종류끼리는 (y, x) 순서를 고정해 서로 자리를 바꾼 배치를 한 번만 본다
+                    if (i > 0 && types[i - 1] == t && (y < py[i - 1] || (y == py[i - 1] && x <= px[i - 1]))) continue;
+                    if (overlaps(i, x, y, w, h)) continue;
+                    px[i] = x;
+                    py[i] = y;
+                    pw[i] = w;
+                    ph[i] = h;
+                    pr[i] = o == 1;
+                    if (place(types, i + 1, xs, ys)) return true;
+                    if (exhausted) return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 어느 방향이든 폭이 절반을 넘는 아이템은 나란히 놓을 수 없으므로 높이 합이 트럭 높이 이하여야 한다 (높이 방향도 같음)
+    private boolean stripsFit(int[] types) {
+        long wideHeights = 0;
+        long tallWidths = 0;
+        for (int t : types) {
+            boolean wide = (!uprightFits[t] || 2 * packW[t] > binW) && (!rotatable[t] || 2 * packH[t] > binW);
+            boolean tall = (!uprightFits[t] || 2 * packH[t] > binH) && (!rotatable[t] || 2 * packW[t] > binH);
+            if (wide) wideHeights += minHeight(t);
+            if (tall) tallWidths += minWidth(t);
+        }
+        return wideHeights <= binH && tallWidths <= binW;
+    }
+
+    private int minHeight(int t) {
+        int h = uprightFits[t] ? packH[t] : Integer.MAX_VALUE;
+        return rotatable[t] ? Math.min(h, packW[t]) : h;
+    }
+
+    private int minWidth(int t) {
+        int w = uprightFits[t] ? packW[t] : Integer.MAX_VALUE;
+        return rotatable[t] ? Math.min(w, packH[t]) : w;
+    }
+
+    private boolean overlaps(int count, int x, int y, int w, int h) {
+        for (int j = 0; j < count; j++) {
+            if (x < px[j] + pw[j] && px[j] < x + w && y < py[j] + ph[j] && py[j] < y + h) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 한 축 방향 아이템 치수의 부분합 중 limit 이하 (오름차순). along은 그 축 방향 치수(x축은 packW, y축은 packH),
+     * across는 회전했을 때 그 축에 놓이는 치수이며 회전 가능한 종류만 더한다.
+     */
+    private int[] normalPatterns(int[] types, int[] along, int[] across, int limit) {
+        int[] sums = {0};
+        for (int t : types) {
+            int a = along[t];
+            int b = rotatable[t] ? across[t] : a;
+            int[] next = new int[sums.length * 3];
+            int c = 0;
+            for (int v : sums) {
+                next[c++] = v;
+                if (v + a <= limit) next[c++] = v + a;
+                if (b != a && v + b <= limit) next[c++] = v + b;
+            }
+            sums = Arrays.stream(next, 0, c).sorted().distinct().toArray();
+        }
+        return sums;
+    }
+
+    private PackingLayout buildLayout() {
+        PackingLayout layout = new PackingLayout(n);
+        for (int b = 0; b < opened; b++) {
+            int[] placement = binSize[b] == 1 ? single(binUnits[b][0]) : binCache.get(keyOf(b));
+            for (int i = 0; i < binSize[b]; i++) {
+                int t = unitType[binUnits[b][i]];
+                boolean rotated = placement[3 * i + 2] == 1;
+                int w = instance.widths()[t];
+                int h = instance.heights()[t];
+                layout.place(t, placement[3 * i], placement[3 * i + 1], rotated ? h : w, rotated ? w : h, rotated, b);
+            }
+        }
+        return layout;
+    }
+
+    private int[] single(int k) {
+        return new int[]{0, 0, instance.firstFittingOrientation(unitType[k])};
+    }
+}
@@ -0,0 +1,17 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * MaxRects 패커가 빈 공간 후보 중 배치 위치를 고르는 규칙.
+ */
+public enum FitRule {
+    /** Best-Short-Side-Fit: 남는 짧은 변 최소 (packing.ts와 같은 점수식, 동점 처리는 {@link MaxRectsPacker} 참고) */
+    BSSF,
+    /** Best-Long-Side-Fit: 남는 긴 변 최소 */
+    BLSF,
+    /** Best-Area-Fit: 남는 면적 최소 */
+    BEST_AREA_FIT,
+    /** Bottom-Left: 아이템 아래쪽 변의 y가 가장 작고, 같으면 x가 작은 위치 */
+    BOTTOM_LEFT,
+    /** Contact-Point: 트럭 벽/기존 아이템과 맞닿는 변 길이 최대 */
+    CONTACT_POINT
+}
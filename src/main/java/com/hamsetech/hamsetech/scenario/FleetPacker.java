@@ -0,0 +1,250 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 트럭 종류별 비용을 최소화하는 혼합 차량 패커 (빔 탐색).
+ *
+ * 트럭을 한 대씩 고르며 채운다. 빔의 각 후보(지금까지 고른 트럭 열)마다 다음 트럭 종류를 모두 시도해
+ * 빈 트럭 하나를 채우고, (누적 비용 + 남은 면적 × 최저 면적당 비용) 이 작은 후보 beamWidth개만 남긴다.
+ * 후보 평가는 packingPool에서 병렬로 한다.
+ * <ul>
+ *   <li>트럭 한 대 채우기 결과는 (트럭 종류, 남은 수량) 으로 메모해 같은 상태에 이른 다른 후보가 다시 계산하지 않는다.</li>
+ *   <li>후보는 부모 후보를 가리키므로 앞부분 배치를 복사하지 않고 공유한다.</li>
+ *   <li>추정 비용이 지금까지 찾은 완성 계획 비용 이상인 후보는 버린다.</li>
+ * </ul>
+ * 한 종류만으로 순서대로 채운 계획(GREEDY와 같은 방식)도 시작 상한으로 함께 비교하므로 그보다 나빠지지 않는다.
+ */
+final class FleetPacker {
+
+    static final String STRATEGY = "FLEET/BEAM";
+
+    private final PackingInstance instance;
+    private final PackingFleet fleet;
+    private final ForkJoinPool pool;
+    private final int beamWidth;
+    private final PackingInstance[] bins;
+    private final int[] typeOrder;
+    private final double minCostPerArea;
+    private final Map<FillKey, Fill> fills = new ConcurrentHashMap<>();
+
+    /** 트럭 한 대를 채운 결과: 배치(트럭 번호 0)와 채운 뒤 남은 수량/면적 */
+    private record Fill(PackingLayout layout, int[] remaining, long remainingArea) {}
+
+    private record FillKey(int truckType, int[] remaining) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FillKey k && k.truckType == truckType && Arrays.equals(k.remaining, remaining);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * truckType + Arrays.hashCode(remaining);
+        }
+    }
+
+    private record Node(Node parent, int truckType, Fill fill, int[] used, long cost, double score) {
+        int[] remaining() {
+            return fill.remaining;
+        }
+
+        long remainingArea() {
+            return fill.remainingArea;
+        }
+    }
+
+    FleetPacker(PackingInstance instance, PackingFleet fleet, ForkJoinPool pool, int beamWidth) {
+        this.instance = instance;
+        this.fleet = fleet;
+        this.pool = pool;
+        this.beamWidth = Math.max(1, beamWidth);
+        this.bins = new PackingInstance[fleet.typeCount()];
+        double min = Double.MAX_VALUE;
+        for (int k = 0; k < fleet.typeCount(); k++) {
+            bins[k] = instance.withBin(fleet.widths()[k], fleet.heights()[k]);
+            min = Math.min(min, (double) fleet.costs()[k] / ((double) fleet.widths()[k] * fleet.heights()[k]));
+        }
+        this.minCostPerArea = min;
+        this.typeOrder = instance.typeOrder(SortOrder.AREA_DESC);
+    }
+
+    FleetPlan pack() {
+        requireEveryItemFits();
+        if (instance.unitCount() == 0) return new FleetPlan(new PackingLayout(0), new int[0], 0);
+        int[] quantities = instance.quantities().clone();
+        Fill start = new Fill(new PackingLayout(0), quantities, remainingArea(quantities));
+        Node root = new Node(null, -1, start, new int[fleet.typeCount()], 0, estimate(0, start.remainingArea()));
+
+        FleetPlan baseline = singleTypeBaseline();
+        long bestCost = baseline != null ? baseline.totalCost() : Long.MAX_VALUE;
+        List<Node> beam = List.of(root);
+        Node best = null;
+        while (!beam.isEmpty()) {
+            List<Callable<Node>> tasks = new ArrayList<>();
+            for (Node node : beam) {
+                for (int k = 0; k < fleet.typeCount(); k++) {
+                    if (node.used()[k] >= fleet.available()[k]) continue;
+                    if (node.cost() + fleet.costs()[k] >= bestCost) continue;
+                    int truckType = k;
+                    tasks.add(() -> expand(node, truckType));
+                }
+            }
+
+            // (남은 수량, 사용 대수)가 같은 후보는 비용이 가장 작은 것만 남긴다
+            Map<FillKey, Node> unique = new HashMap<>();
+            List<Node> children = new ArrayList<>();
+            for (Future<Node> future : pool.invokeAll(tasks)) {
+                Node child = await(future);
+                if (child == null) continue;
+                if (child.remainingArea() == 0) {
+                    if (child.cost() < bestCost) {
+                        best = child;
+                        bestCost = child.cost();
+                    }
+                    continue;
+                }
+                FillKey key = new FillKey(-1, concat(child.remaining(), child.used()));
+                Node seen = unique.get(key);
+                if (seen == null) {
+                    unique.put(key, child);
+                    children.add(child);
+                } else if (child.cost() < seen.cost()) {
+                    unique.put(key, child);
+                    children.set(children.indexOf(seen), child);
+                }
+            }
+
+            double limit = bestCost;
+            beam = children.stream()
+                    .filter(n -> n.score() < limit)
+                    .sorted(Comparator.comparingDouble(Node::score).thenComparingLong(Node::remainingArea))
+                    .limit(beamWidth)
+                    .toList();
+        }
+
+        if (best != null) return toPlan(best);
+        if (baseline != null) return baseline;
+        throw new IllegalArgumentException("가용 트럭으로 모든 아이템을 실을 수 없습니다");
+    }
+
+    /** 모든 아이템이 들어가는 트럭 종류 하나로 순서대로 채운 계획 중 가장 싼 것 (가용 대수 안에서) */
+    private FleetPlan singleTypeBaseline() {
+        int[] sequence = instance.unitSequence();
+        FleetPlan best = null;
+        for (int k = 0; k < fleet.typeCount(); k++) {
+            PackingLayout layout;
+            try {
+                layout = new MaxRectsPacker(bins[k]).pack(sequence);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (layout.truckCount() > fleet.available()[k]) continue;
+            long cost = fleet.costs()[k] * layout.truckCount();
+            if (best == null || cost < best.totalCost()) {
+                int[] truckTypes = new int[layout.truckCount()];
+                Arrays.fill(truckTypes, k);
+                best = new FleetPlan(layout, truckTypes, cost);
+            }
+        }
+        return best;
+    }
+
+    /** node 다음 트럭으로 truckType을 채운 후보. 아무것도 싣지 못하면 null */
+    private Node expand(Node node, int truckType) {
+        Fill fill = fill(truckType, node.remaining());
+        if (fill.remainingArea() == node.remainingArea()) return null;
+        int[] used = node.used().clone();
+        used[truckType]++;
+        long cost = node.cost() + fleet.costs()[truckType];
+        return new Node(node, truckType, fill, used, cost, estimate(cost, fill.remainingArea()));
+    }
+
+    private Fill fill(int truckType, int[] remaining) {
+        FillKey key = new FillKey(truckType, remaining);
+        Fill cached = fills.get(key);
+        if (cached != null) return cached;
+        int[] after = remaining.clone();
+        PackingLayout layout = new PackingLayout();
+        new MaxRectsPacker(bins[truckType]).fillOne(typeOrder, after, layout, 0);
+        Fill fill = new Fill(layout, after, remainingArea(after));
+        Fill previous = fills.putIfAbsent(key, fill);
+        return previous != null ? previous : fill;
+    }
+
+    // 남은 면적은 최저 면적당 비용의 트럭으로 빈틈없이 채워도 이 비용 이상 든다
+    private double estimate(long cost, long remainingArea) {
+        return cost + remainingArea * minCostPerArea;
+    }
+
+    private long remainingArea(int[] remaining) {
+        long area = 0;
+        int m = instance.margin();
+        for (int t = 0; t < remaining.length; t++) {
+            area += (long) (instance.widths()[t] + m) * (instance.heights()[t] + m) * remaining[t];
+        }
+        return area;
+    }
+
+    private void requireEveryItemFits() {
+        for (int t = 0; t < instance.typeCount(); t++) {
+            boolean fits = false;
+            for (int k = 0; k < bins.length && !fits; k++) {
+                if (fleet.available()[k] == 0) continue;
+                try {
+                    bins[k].firstFittingOrientation(t);
+                    fits = true;
+                } catch (IllegalArgumentException e) {
+                    // 이 트럭 종류에는 들어가지 않음
+                }
+            }
+            if (!fits) {
+                throw new IllegalArgumentException("아이템이 트럭 크기보다 큽니다: " + instance.names()[t]);
+            }
+        }
+    }
+
+    private FleetPlan toPlan(Node last) {
+        List<Node> path = new ArrayList<>();
+        for (Node n = last; n.parent() != null; n = n.parent()) path.add(n);
+        int truckCount = path.size();
+        int[] truckTypes = new int[truckCount];
+        PackingLayout layout = new PackingLayout(Math.max(1, (int) Math.min(Integer.MAX_VALUE, instance.unitCount())));
+        for (int truck = 0; truck < truckCount; truck++) {
+            Node node = path.get(truckCount - 1 - truck);
+            truckTypes[truck] = node.truckType();
+            PackingLayout bin = node.fill().layout();
+            for (int i = 0; i < bin.size(); i++) {
+                layout.place(bin.type(i), bin.x(i), bin.y(i), bin.width(i), bin.height(i), bin.rotated(i), truck);
+            }
+        }
+        return new FleetPlan(layout, truckTypes, last.cost());
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+
+    private static Node await(Future<Node> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("패킹이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("패킹 중 오류가 발생했습니다", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 혼합 차량 패킹 결과. layout의 트럭 번호 t는 truckTypes[t] 종류의 트럭이며, 좌표는 각 트럭 기준이다.
+ */
+public record FleetPlan(PackingLayout layout, int[] truckTypes, long totalCost) {
+}
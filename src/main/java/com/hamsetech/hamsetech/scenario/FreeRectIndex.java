@@ -0,0 +1,300 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * 격자(bucket grid) 색인을 둔 빈 공간 집합.
+ *
+ * 각 빈 공간은 왼쪽 위 꼭짓점이 속한 칸(cell)에 등록되고, 칸마다 소속 빈 공간들의 최대 너비/높이/오른쪽 끝/아래쪽 끝을
+ * 유지한다. 그래서 조회 시 조건을 만족할 수 없는 칸은 통째로 건너뛴다.
+ * <ul>
+ *   <li>배치 후보 조회: 최대 너비/높이가 모자란 칸 제외</li>
+ *   <li>배치 영역과 겹치는 빈 공간: 꼭짓점이 배치 영역의 오른쪽/아래쪽 너머인 칸과 끝이 배치 영역에 닿지 않는 칸 제외</li>
+ *   <li>포함 관계 검사: 새로 생긴 조각만 기존 빈 공간에 포함되는지 확인. 기존 빈 공간끼리는 이미 서로 포함하지 않고,
+ *       조각은 제거된 빈 공간의 일부라 기존 빈 공간을 포함할 수도 없으므로 전체 쌍을 비교할 필요가 없다.</li>
+ * </ul>
+ * 결과로 남는 빈 공간 집합은 {@link FreeRectList}(packing.ts 방식)와 같다.
+ */
+final class FreeRectIndex implements FreeSpace {
+
+    private static final int GRID = 16;
+    private static final int CELLS = GRID * GRID;
+
+    // 슬롯별 빈 공간 (struct-of-arrays)
+    private int[] rx = new int[32];
+    private int[] ry = new int[32];
+    private int[] rw = new int[32];
+    private int[] rh = new int[32];
+    private int[] cellOf = new int[32];
+    private int[] posInCell = new int[32];
+    private int[] recycled = new int[32];
+    private int recycledCount;
+    private int slotHigh;
+    private int size;
+
+    // 칸별 소속 슬롯 목록과 집계값 (dirty면 다음 조회 때 다시 계산)
+    private final int[][] cellItems = new int[CELLS][];
+    private final int[] cellCount = new int[CELLS];
+    private final int[] maxW = new int[CELLS];
+    private final int[] maxH = new int[CELLS];
+    private final int[] maxRight = new int[CELLS];
+    private final int[] maxBottom = new int[CELLS];
+    private final boolean[] dirty = new boolean[CELLS];
+    private int cellW;
+    private int cellH;
+
+    // 조회/분할용 보조 버퍼
+    private int[] hits = new int[32];
+    private int[] px = new int[32];
+    private int[] py = new int[32];
+    private int[] pw = new int[32];
+    private int[] ph = new int[32];
+    private boolean[] pieceRemoved = new boolean[32];
+    private int pieceCount;
+
+    FreeRectIndex() {
+        for (int c = 0; c < CELLS; c++) cellItems[c] = new int[4];
+    }
+
+    @Override
+    public void reset(int binW, int binH) {
+        Arrays.fill(cellCount, 0);
+        Arrays.fill(maxW, 0);
+        Arrays.fill(maxH, 0);
+        Arrays.fill(maxRight, 0);
+        Arrays.fill(maxBottom, 0);
+        Arrays.fill(dirty, false);
+        cellW = Math.max(1, (binW + GRID - 1) / GRID);
+        cellH = Math.max(1, (binH + GRID - 1) / GRID);
+        recycledCount = 0;
+        slotHigh = 0;
+        size = 0;
+        insert(0, 0, binW, binH);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int x(int slot) {
+        return rx[slot];
+    }
+
+    @Override
+    public int y(int slot) {
+        return ry[slot];
+    }
+
+    @Override
+    public int w(int slot) {
+        return rw[slot];
+    }
+
+    @Override
+    public int h(int slot) {
+        return rh[slot];
+    }
+
+    @Override
+    public int collectFits(int w, int h) {
+        int n = 0;
+        for (int c = 0; c < CELLS; c++) {
+            if (cellCount[c] == 0) continue;
+            refresh(c);
+            if (maxW[c] < w || maxH[c] < h) continue;
+            int[] items = cellItems[c];
+            for (int k = 0; k < cellCount[c]; k++) {
+                int s = items[k];
+                if (w <= rw[s] && h <= rh[s]) {
+                    if (n == hits.length) hits = Arrays.copyOf(hits, n * 2);
+                    hits[n++] = s;
+                }
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int candidate(int k) {
+        return hits[k];
+    }
+
+    @Override
+    public void place(int x, int y, int w, int h) {
+        int right = x + w;
+        int bottom = y + h;
+
+        // 1. 배치 영역과 겹치는 빈 공간 수집 (수집 중 칸 목록이 바뀌지 않도록 먼저 모은다)
+        int overlapCount = 0;
+        int lastCx = cellX(right - 1);
+        int lastCy = cellY(bottom - 1);
+        for (int cy = 0; cy <= lastCy; cy++) {
+            for (int cx = 0; cx <= lastCx; cx++) {
+                int c = cy * GRID + cx;
+                if (cellCount[c] == 0) continue;
+                refresh(c);
+                if (maxRight[c] <= x || maxBottom[c] <= y) continue;
+                int[] items = cellItems[c];
+                for (int k = 0; k < cellCount[c]; k++) {
+                    int s = items[k];
+                    if (rx[s] < right && rx[s] + rw[s] > x && ry[s] < bottom && ry[s] + rh[s] > y) {
+                        if (overlapCount == hits.length) hits = Arrays.copyOf(hits, overlapCount * 2);
+                        hits[overlapCount++] = s;
+                    }
+                }
+            }
+        }
+
+        // 2. 겹치는 빈 공간을 제거하고 좌/우/상/하 조각으로 분할
+        pieceCount = 0;
+        for (int k = 0; k < overlapCount; k++) {
+            int s = hits[k];
+            int fx = rx[s], fy = ry[s], fw = rw[s], fh = rh[s];
+            int fr = fx + fw;
+            int fb = fy + fh;
+            remove(s);
+            if (x > fx) pushPiece(fx, fy, x - fx, fh);
+            if (right < fr) pushPiece(right, fy, fr - right, fh);
+            if (y > fy) pushPiece(fx, fy, fw, y - fy);
+            if (bottom < fb) pushPiece(fx, bottom, fw, fb - bottom);
+        }
+
+        // 3. 조각끼리 포함 관계 정리 (동일한 조각은 첫 번째만 남김)
+        for (int i = 0; i < pieceCount; i++) {
+            boolean contained = false;
+            for (int j = 0; j < pieceCount && !contained; j++) {
+                if (i == j) continue;
+                if (contains(px[j], py[j], pw[j], ph[j], px[i], py[i], pw[i], ph[i])) {
+                    boolean identical = px[j] == px[i] && py[j] == py[i] && pw[j] == pw[i] && ph[j] == ph[i];
+                    contained = !identical || j < i;
+                }
+            }
+            pieceRemoved[i] = contained;
+        }
+
+        // 4. 기존 빈 공간에 포함되지 않는 조각만 등록
+        for (int i = 0; i < pieceCount; i++) {
+            if (pieceRemoved[i] || containedByExisting(px[i], py[i], pw[i], ph[i])) continue;
+            insert(px[i], py[i], pw[i], ph[i]);
+        }
+    }
+
+    private boolean containedByExisting(int x, int y, int w, int h) {
+        int right = x + w;
+        int bottom = y + h;
+        int lastCx = cellX(x);
+        int lastCy = cellY(y);
+        for (int cy = 0; cy <= lastCy; cy++) {
+            for (int cx = 0; cx <= lastCx; cx++) {
+                int c = cy * GRID + cx;
+                if (cellCount[c] == 0) continue;
+                refresh(c);
+                if (maxRight[c] < right || maxBottom[c] < bottom) continue;
+                int[] items = cellItems[c];
+                for (int k = 0; k < cellCount[c]; k++) {
+                    int s = items[k];
+                    if (contains(rx[s], ry[s], rw[s], rh[s], x, y, w, h)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int ox, int oy, int ow, int oh, int x, int y, int w, int h) {
+        return ox <= x && oy <= y && ox + ow >= x + w && oy + oh >= y + h;
+    }
+
+    private void pushPiece(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        if (pieceCount == px.length) {
+            int c = px.length * 2;
+            px = Arrays.copyOf(px, c);
+            py = Arrays.copyOf(py, c);
+            pw = Arrays.copyOf(pw, c);
+            ph = Arrays.copyOf(ph, c);
+            pieceRemoved = Arrays.copyOf(pieceRemoved, c);
+        }
+        px[pieceCount] = x;
+        py[pieceCount] = y;
+        pw[pieceCount] = w;
+        ph[pieceCount] = h;
+        pieceCount++;
+    }
+
+    private void insert(int x, int y, int w, int h) {
+        int s;
+        if (recycledCount > 0) {
+            s = recycled[--recycledCount];
+        } else {
+            if (slotHigh == rx.length) growSlots();
+            s = slotHigh++;
+        }
+        rx[s] = x;
+        ry[s] = y;
+        rw[s] = w;
+        rh[s] = h;
+
+        int c = cellY(y) * GRID + cellX(x);
+        if (cellCount[c] == cellItems[c].length) cellItems[c] = Arrays.copyOf(cellItems[c], cellCount[c] * 2);
+        posInCell[s] = cellCount[c];
+        cellItems[c][cellCount[c]++] = s;
+        cellOf[s] = c;
+        if (!dirty[c]) {
+            maxW[c] = Math.max(maxW[c], w);
+            maxH[c] = Math.max(maxH[c], h);
+            maxRight[c] = Math.max(maxRight[c], x + w);
+            maxBottom[c] = Math.max(maxBottom[c], y + h);
+        }
+        size++;
+    }
+
+    private void remove(int s) {
+        int c = cellOf[s];
+        int p = posInCell[s];
+        int last = cellItems[c][--cellCount[c]];
+        cellItems[c][p] = last;
+        posInCell[last] = p;
+        dirty[c] = true;
+        if (recycledCount == recycled.length) recycled = Arrays.copyOf(recycled, recycledCount * 2);
+        recycled[recycledCount++] = s;
+        size--;
+    }
+
+    private void refresh(int c) {
+        if (!dirty[c]) return;
+        int mw = 0, mh = 0, mr = 0, mb = 0;
+        int[] items = cellItems[c];
+        for (int k = 0; k < cellCount[c]; k++) {
+            int s = items[k];
+            mw = Math.max(mw, rw[s]);
+            mh = Math.max(mh, rh[s]);
+            mr = Math.max(mr, rx[s] + rw[s]);
+            mb = Math.max(mb, ry[s] + rh[s]);
+        }
+        maxW[c] = mw;
+        maxH[c] = mh;
+        maxRight[c] = mr;
+        maxBottom[c] = mb;
+        dirty[c] = false;
+    }
+
+    private void growSlots() {
+        int c = rx.length * 2;
+        rx = Arrays.copyOf(rx, c);
+        ry = Arrays.copyOf(ry, c);
+        rw = Arrays.copyOf(rw, c);
+        rh = Arrays.copyOf(rh, c);
+        cellOf = Arrays.copyOf(cellOf, c);
+        posInCell = Arrays.copyOf(posInCell, c);
+    }
+
+    private int cellX(int x) {
+        return Math.min(GRID - 1, x / cellW);
+    }
+
+    private int cellY(int y) {
+        return Math.min(GRID - 1, y / cellH);
+    }
+}
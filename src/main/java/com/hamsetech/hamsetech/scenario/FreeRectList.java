@@ -0,0 +1,161 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * 한 트럭의 빈 공간(free rect) 목록. x/y/w/h를 int 배열(struct-of-arrays)로 보관하고
+ * 분할 시에는 보조 배열과 교대로 사용하므로 배치마다 객체를 만들지 않는다.
+ * 분할/포함 제거 규칙은 packing.ts의 updateFreeRects / pruneContained와 같아 배치마다 O(n²)이며,
+ * 빈 공간이 적은 경우의 기준 구현이자 {@link FreeRectIndex} 벤치마크의 비교 대상이다.
+ */
+final class FreeRectList implements FreeSpace {
+
+    private int[] fx = new int[16];
+    private int[] fy = new int[16];
+    private int[] fw = new int[16];
+    private int[] fh = new int[16];
+    private int count;
+
+    // 분할 결과를 모으는 보조 목록 (분할 후 free 목록과 교체)
+    private int[] sx = new int[16];
+    private int[] sy = new int[16];
+    private int[] sw = new int[16];
+    private int[] sh = new int[16];
+    private int scratchCount;
+
+    // prune에서 제거 대상 표시용
+    private boolean[] removed = new boolean[16];
+
+    // collectFits 결과
+    private int[] fits = new int[16];
+
+    @Override
+    public void reset(int binW, int binH) {
+        fx[0] = 0;
+        fy[0] = 0;
+        fw[0] = binW;
+        fh[0] = binH;
+        count = 1;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int x(int slot) {
+        return fx[slot];
+    }
+
+    @Override
+    public int y(int slot) {
+        return fy[slot];
+    }
+
+    @Override
+    public int w(int slot) {
+        return fw[slot];
+    }
+
+    @Override
+    public int h(int slot) {
+        return fh[slot];
+    }
+
+    @Override
+    public int collectFits(int pw, int ph) {
+        if (fits.length < count) fits = new int[Math.max(count, fits.length * 2)];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (pw <= fw[i] && ph <= fh[i]) fits[n++] = i;
+        }
+        return n;
+    }
+
+    @Override
+    public int candidate(int k) {
+        return fits[k];
+    }
+
+    @Override
+    public void place(int px, int py, int pw, int ph) {
+        split(px, py, pw, ph);
+        pruneContained();
+    }
+
+    /** 배치된 영역과 겹치는 free rect를 최대 4개(좌/우/상/하)로 분할한다. */
+    private void split(int px, int py, int pw, int ph) {
+        scratchCount = 0;
+        int pr = px + pw;
+        int pb = py + ph;
+        for (int i = 0; i < count; i++) {
+            int x = fx[i], y = fy[i], w = fw[i], h = fh[i];
+            int r = x + w;
+            int b = y + h;
+            if (!(x < pr && r > px && y < pb && b > py)) {
+                pushScratch(x, y, w, h);
+                continue;
+            }
+            if (px > x) pushScratch(x, y, px - x, h);
+            if (pr < r) pushScratch(pr, y, r - pr, h);
+            if (py > y) pushScratch(x, y, w, py - y);
+            if (pb < b) pushScratch(x, pb, w, b - pb);
+        }
+
+        int[] t;
+        t = fx; fx = sx; sx = t;
+        t = fy; fy = sy; sy = t;
+        t = fw; fw = sw; sw = t;
+        t = fh; fh = sh; sh = t;
+        count = scratchCount;
+    }
+
+    private void pushScratch(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        if (scratchCount == sx.length) {
+            int c = sx.length * 2;
+            sx = Arrays.copyOf(sx, c);
+            sy = Arrays.copyOf(sy, c);
+            sw = Arrays.copyOf(sw, c);
+            sh = Arrays.copyOf(sh, c);
+        }
+        sx[scratchCount] = x;
+        sy[scratchCount] = y;
+        sw[scratchCount] = w;
+        sh[scratchCount] = h;
+        scratchCount++;
+    }
+
+    /**
+     * 다른 free rect에 완전히 포함된 rect 제거.
+     * 동일한 rect가 여러 개면 packing.ts는 모두 지워 공간을 잃지만, 여기서는 첫 번째 하나를 남긴다.
+     */
+    private void pruneContained() {
+        if (removed.length < count) removed = new boolean[Math.max(count, removed.length * 2)];
+        for (int i = 0; i < count; i++) {
+            boolean contained = false;
+            for (int j = 0; j < count && !contained; j++) {
+                if (i == j) continue;
+                if (fx[j] <= fx[i] && fy[j] <= fy[i]
+                        && fx[j] + fw[j] >= fx[i] + fw[i]
+                        && fy[j] + fh[j] >= fy[i] + fh[i]) {
+                    boolean identical = fx[j] == fx[i] && fy[j] == fy[i] && fw[j] == fw[i] && fh[j] == fh[i];
+                    contained = !identical || j < i;
+                }
+            }
+            removed[i] = contained;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (removed[i]) continue;
+            fx[kept] = fx[i];
+            fy[kept] = fy[i];
+            fw[kept] = fw[i];
+            fh[kept] = fh[i];
+            kept++;
+        }
+        count = kept;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 한 트럭의 빈 공간(free rect) 집합. 빈 공간은 정수 슬롯 번호로 가리키며 후보 조회 결과도
+ * 내부 버퍼에 슬롯 번호로 담아 돌려주므로 조회/갱신 시 객체를 만들지 않는다.
+ */
+interface FreeSpace {
+
+    void reset(int binW, int binH);
+
+    /** (px, py, pw, ph) 영역을 사용한 뒤 빈 공간을 분할하고 다른 빈 공간에 포함된 것을 제거한다. */
+    void place(int px, int py, int pw, int ph);
+
+    /** pw × ph가 들어가는 빈 공간을 모으고 그 개수를 돌려준다. 결과는 다음 호출 전까지 {@link #candidate(int)}로 읽는다. */
+    int collectFits(int pw, int ph);
+
+    int candidate(int k);
+
+    /** 현재 빈 공간 수 */
+    int size();
+
+    int x(int slot);
+
+    int y(int slot);
+
+    int w(int slot);
+
+    int h(int slot);
+}
@@ -0,0 +1,143 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * Guillotine 패커. 배치할 때마다 빈 공간 하나를 두 개의 서로 겹치지 않는 사각형으로 자르므로
+ * 빈 공간 목록에 포함 관계가 생기지 않아 MaxRects의 pruneContained 같은 정리 단계가 없다.
+ * 배치 위치는 Best-Area-Fit, 자르는 방향은 남는 변이 짧은 쪽(Shorter-Leftover-Axis)으로 정한다.
+ */
+final class GuillotinePacker {
+
+    private final PackingInstance instance;
+    private final int binW;
+    private final int binH;
+    private final int margin;
+
+    private int[] gx = new int[16];
+    private int[] gy = new int[16];
+    private int[] gw = new int[16];
+    private int[] gh = new int[16];
+    private int count;
+
+    // findBestFit 결과
+    private int bestIndex;
+    private int bestOrientation;
+
+    GuillotinePacker(PackingInstance instance) {
+        this.instance = instance;
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.margin = instance.margin();
+    }
+
+    PackingLayout pack(int[] sequence) {
+        return pack(sequence, TruckListener.NONE);
+    }
+
+    /** 트럭을 닫을 때마다 listener에 알리면서 패킹한다 (스트리밍 응답용) */
+    PackingLayout pack(int[] sequence, TruckListener listener) {
+        return pack(sequence, new PackingLayout(sequence.length), listener);
+    }
+
+    /**
+     * 배치를 layout에 이어 쓴다. listener가 트럭을 닫을 때 layout을 비우면({@link PackingLayout#clear()})
+     * 트럭 한 대 분량만 메모리에 두고 패킹할 수 있다.
+     */
+    PackingLayout pack(int[] sequence, PackingLayout layout, TruckListener listener) {
+        int truck = 0;
+        int truckStart = layout.size();
+        boolean truckUsed = false;
+        reset();
+
+        for (int type : sequence) {
+            int w = instance.widths()[type];
+            int h = instance.heights()[type];
+            if (!findBestFit(w + margin, h + margin)) {
+                if (truckUsed) {
+                    listener.truckClosed(layout, truck, truckStart, layout.size());
+                    truck++;
+                }
+                truckStart = layout.size();
+                reset();
+                bestOrientation = instance.firstFittingOrientation(type);
+                bestIndex = 0;
+            }
+
+            boolean rotated = bestOrientation == 1;
+            int displayW = rotated ? h : w;
+            int displayH = rotated ? w : h;
+            layout.place(type, gx[bestIndex], gy[bestIndex], displayW, displayH, rotated, truck);
+            truckUsed = true;
+            split(bestIndex, displayW + margin, displayH + margin);
+        }
+        if (truckUsed) listener.truckClosed(layout, truck, truckStart, layout.size());
+        return layout;
+    }
+
+    private void reset() {
+        count = 0;
+        push(0, 0, binW, binH);
+    }
+
+    private boolean findBestFit(int packW, int packH) {
+        long bestArea = Long.MAX_VALUE;
+        int bestShort = Integer.MAX_VALUE;
+        int orientations = instance.allowRotate() ? 2 : 1;
+        for (int o = 0; o < orientations; o++) {
+            int pw = o == 0 ? packW : packH;
+            int ph = o == 0 ? packH : packW;
+            for (int i = 0; i < count; i++) {
+                if (pw > gw[i] || ph > gh[i]) continue;
+                long area = (long) gw[i] * gh[i] - (long) pw * ph;
+                int shortSide = Math.min(gw[i] - pw, gh[i] - ph);
+                if (area < bestArea || (area == bestArea && shortSide < bestShort)) {
+                    bestArea = area;
+                    bestShort = shortSide;
+                    bestIndex = i;
+                    bestOrientation = o;
+                }
+            }
+        }
+        return bestArea != Long.MAX_VALUE;
+    }
+
+    /** 빈 공간 i의 왼쪽 위에 (pw, ph)를 놓고 남은 L자 영역을 두 사각형으로 자른다. */
+    private void split(int i, int pw, int ph) {
+        int x = gx[i], y = gy[i], w = gw[i], h = gh[i];
+        // 마지막 원소로 덮어써서 O(1)로 제거
+        count--;
+        gx[i] = gx[count];
+        gy[i] = gy[count];
+        gw[i] = gw[count];
+        gh[i] = gh[count];
+
+        int leftoverW = w - pw;
+        int leftoverH = h - ph;
+        if (leftoverW <= leftoverH) {
+            // 가로로 자름: 아래쪽은 전체 너비, 오른쪽은 아이템 높이만큼
+            push(x, y + ph, w, leftoverH);
+            push(x + pw, y, leftoverW, ph);
+        } else {
+            // 세로로 자름: 오른쪽은 전체 높이, 아래쪽은 아이템 너비만큼
+            push(x + pw, y, leftoverW, h);
+            push(x, y + ph, pw, leftoverH);
+        }
+    }
+
+    private void push(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        if (count == gx.length) {
+            int c = gx.length * 2;
+            gx = Arrays.copyOf(gx, c);
+            gy = Arrays.copyOf(gy, c);
+            gw = Arrays.copyOf(gw, c);
+            gh = Arrays.copyOf(gh, c);
+        }
+        gx[count] = x;
+        gy[count] = y;
+        gw[count] = w;
+        gh[count] = h;
+        count++;
+    }
+}
@@ -0,0 +1,137 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 아이템 일부만 바뀐 시나리오를 이전 적재 결과에서 부분적으로 다시 계산한다.
+ *
+ * 이전 결과(인코딩 당시 아이템 종류 크기/수량 포함)와 현재 입력을 (가로, 세로) 기준으로 맞춰 보고
+ * <ul>
+ *   <li>수량이 줄었거나 없어진 종류의 아이템은 뒤쪽 배치부터 빼고, 아이템이 빠진 트럭(영향받은 트럭)은 통째로 비운다.</li>
+ *   <li>영향받지 않은 트럭의 배치는 그대로 두고, 비운 트럭의 아이템과 새로 늘어난 아이템을 남은 아이템으로 모은다.</li>
+ *   <li>남은 아이템은 먼저 유지한 트럭들의 빈 공간에 넣어 보고 (기존 배치는 움직이지 않음), 그래도 남으면 새 트럭에 싣는다.</li>
+ * </ul>
+ * 연산량은 유지한 트럭 수와 남은 아이템 수에 비례한다. 이전 결과가 현재 트럭 크기에 맞지 않으면 null을 돌려준다.
+ */
+final class IncrementalRepacker {
+
+    static final String STRATEGY = "INCREMENTAL/REPAIR";
+
+    private final PackingInstance instance;
+    private final PackingLayoutCodec.Decoded previous;
+
+    IncrementalRepacker(PackingInstance instance, PackingLayoutCodec.Decoded previous) {
+        this.instance = instance;
+        this.previous = previous;
+    }
+
+    PackingLayout repack() {
+        instance.requireAllFit();
+        PackingLayout before = previous.layout();
+        int n = instance.typeCount();
+        int margin = instance.margin();
+
+        // 1. 이전 배치를 현재 종류에 배정 (같은 크기의 종류가 여럿이면 앞 종류부터 수량만큼)
+        Map<Long, int[]> typesBySize = new HashMap<>();
+        for (int t = 0; t < n; t++) {
+            long size = sizeKey(instance.widths()[t], instance.heights()[t]);
+            int[] types = typesBySize.getOrDefault(size, new int[0]);
+            types = Arrays.copyOf(types, types.length + 1);
+            types[types.length - 1] = t;
+            typesBySize.put(size, types);
+        }
+        int trucksBefore = before.truckCount();
+        int[] newType = new int[before.size()];
+        int[] assigned = new int[n];
+        boolean[] touched = new boolean[trucksBefore];
+        for (int i = 0; i < before.size(); i++) {
+            int x = before.x(i);
+            int y = before.y(i);
+            if (x + before.width(i) + margin > instance.binWidth() || y + before.height(i) + margin > instance.binHeight()
+                    || (before.rotated(i) && !instance.allowRotate())) {
+                return null;
+            }
+            int old = before.type(i);
+            newType[i] = -1;
+            for (int t : typesBySize.getOrDefault(sizeKey(previous.widths()[old], previous.heights()[old]), new int[0])) {
+                if (assigned[t] < instance.quantities()[t]) {
+                    newType[i] = t;
+                    assigned[t]++;
+                    break;
+                }
+            }
+            if (newType[i] < 0) touched[before.truck(i)] = true;
+        }
+
+        // 2. 영향받은 트럭의 남은 아이템과 새 아이템을 모은다
+        int[] remaining = new int[n];
+        for (int t = 0; t < n; t++) remaining[t] = instance.quantities()[t] - assigned[t];
+        for (int i = 0; i < before.size(); i++) {
+            if (newType[i] >= 0 && touched[before.truck(i)]) remaining[newType[i]]++;
+        }
+
+        // 3. 유지한 트럭을 순서대로 옮겨 적고, 빈 공간에 남은 아이템을 넣는다
+        int[] order = instance.typeOrder(SortOrder.AREA_DESC);
+        int[][] byTruck = placementsByTruck(before, trucksBefore);
+        PackingLayout out = new PackingLayout((int) instance.unitCount());
+        MaxRectsPacker packer = new MaxRectsPacker(instance);
+        boolean pending = hasRemaining(remaining);
+        int truck = 0;
+        for (int k = 0; k < trucksBefore; k++) {
+            if (touched[k] || byTruck[k].length == 0) continue;
+            int from = out.size();
+            for (int i : byTruck[k]) {
+                out.place(newType[i], before.x(i), before.y(i), before.width(i), before.height(i), before.rotated(i), truck);
+            }
+            if (pending) {
+                packer.fillAround(order, remaining, out, truck, from);
+                pending = hasRemaining(remaining);
+            }
+            truck++;
+        }
+
+        // 4. 그래도 남은 아이템은 새 트럭에 싣는다
+        if (pending) {
+            int count = 0;
+            for (int r : remaining) count += r;
+            int[] sequence = new int[count];
+            int s = 0;
+            for (int t : order) {
+                for (int q = 0; q < remaining[t]; q++) sequence[s++] = t;
+            }
+            PackingLayout extra = new MaxRectsPacker(instance).pack(sequence);
+            for (int i = 0; i < extra.size(); i++) {
+                out.place(extra.type(i), extra.x(i), extra.y(i), extra.width(i), extra.height(i), extra.rotated(i),
+                        truck + extra.truck(i));
+            }
+        }
+        return out;
+    }
+
+    private static long sizeKey(int width, int height) {
+        return (long) width << 32 | height;
+    }
+
+    private static boolean hasRemaining(int[] remaining) {
+        for (int r : remaining) {
+            if (r > 0) return true;
+        }
+        return false;
+    }
+
+    /** 트럭별 배치 인덱스 (배치 순서 유지) */
+    private static int[][] placementsByTruck(PackingLayout layout, int truckCount) {
+        int[] counts = new int[truckCount];
+        for (int i = 0; i < layout.size(); i++) counts[layout.truck(i)]++;
+        int[][] byTruck = new int[truckCount][];
+        for (int k = 0; k < truckCount; k++) byTruck[k] = new int[counts[k]];
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < layout.size(); i++) {
+            int k = layout.truck(i);
+            byTruck[k][counts[k]++] = i;
+        }
+        return byTruck;
+    }
+}
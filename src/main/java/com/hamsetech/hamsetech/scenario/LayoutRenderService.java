@@ -0,0 +1,88 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 적재 배치 이미지(SVG/PNG) 렌더링과 결과 캐시.
+ * 이미지는 트럭 규격(크기, 마진), 배치(코덱 인코딩), 아이템 이름/ID, 형식과 크기 옵션만으로 정해지므로 이들의 해시를 ETag와 캐시 키로 함께 쓴다.
+ * 해시는 렌더링 없이 계산할 수 있어 If-None-Match가 맞으면 이미지를 다시 그리지 않는다.
+ * 캐시는 LRU이며 렌더링된 바이트 합계로 크기를 제한한다.
+ */
+@Service
+public class LayoutRenderService {
+
+    private final PackingProperties.Render config;
+
+    // accessOrder=true: 조회할 때마다 가장 최근 항목으로 이동 (LRU)
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public LayoutRenderService(PackingProperties properties) {
+        this.config = properties.getRender();
+    }
+
+    /** 렌더링 결과를 결정하는 입력 전체의 SHA-256 (16진수) */
+    public String hash(PackingInstance instance, PackingLayout layout, RenderFormat format, int panelWidth, int columns) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(24).putInt(format.ordinal()).putInt(panelWidth).putInt(columns)
+                    .putInt(instance.binWidth()).putInt(instance.binHeight()).putInt(instance.margin()).array());
+            // 코덱은 트럭 크기를 담지 않는다. 배치가 같아도 트럭 크기가 바뀌면 패널 배율이 달라진다
+            digest.update(PackingLayoutCodec.encode(instance, layout));
+            ByteBuffer ids = ByteBuffer.allocate(instance.typeCount() * 8);
+            for (long id : instance.itemIds()) ids.putLong(id);
+            digest.update(ids.array());
+            for (String name : instance.names()) {
+                digest.update((name != null ? name : "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * hash(...)로 구한 키의 이미지를 돌려준다. 캐시에 없으면 그려서 저장한다.
+     * 이미지가 packing.render.max-pixels보다 크면 IllegalArgumentException.
+     */
+    public byte[] render(String hash, PackingInstance instance, PackingLayout layout, RenderFormat format,
+                         int panelWidth, int columns) {
+        synchronized (this) {
+            byte[] cached = entries.get(hash);
+            if (cached != null) return cached;
+        }
+        LayoutRenderer renderer = new LayoutRenderer(instance, layout, panelWidth, columns);
+        if (renderer.pixels() > config.getMaxPixels()) {
+            throw new IllegalArgumentException("이미지가 너무 큽니다. 패널 너비나 한 줄의 트럭 수를 줄여주세요");
+        }
+        byte[] rendered = format == RenderFormat.PNG ? renderer.png() : renderer.svg();
+        put(hash, rendered);
+        return rendered;
+    }
+
+    private synchronized void put(String hash, byte[] rendered) {
+        if (rendered.length > config.getCacheMaxBytes()) return;
+
+        byte[] previous = entries.put(hash, rendered);
+        if (previous != null) bytes -= previous.length;
+        bytes += rendered.length;
+
+        Iterator<Map.Entry<String, byte[]>> it = entries.entrySet().iterator();
+        while (bytes > config.getCacheMaxBytes() && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            if (eldest.getKey().equals(hash)) continue;
+            bytes -= eldest.getValue().length;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.hamsetech.hamsetech.scenario;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 적재 배치를 트럭별 패널 격자로 그린다 (SVG 문자열 또는 Java2D PNG).
+ * 색상과 라벨(아이템 이름, 회전 표시, 크기)은 Delivery 페이지의 TruckSvg와 같은 규칙을 따르고,
+ * 아이템 칸이 좁으면 라벨을 줄이거나 생략한다. 같은 입력이면 항상 같은 바이트를 만든다.
+ */
+final class LayoutRenderer {
+
+    // Delivery.tsx의 colorPalette (아이템 ID 순환)
+    private static final String[] FILLS = {
+            "#60a5fa", "#34d399", "#fbbf24", "#f87171", "#a78bfa", "#22d3ee", "#a3e635", "#fb923c", "#f472b6", "#94a3b8"
+    };
+    private static final String[] STROKES = {
+            "#2563eb", "#059669", "#d97706", "#dc2626", "#7c3aed", "#0891b2", "#65a30d", "#ea580c", "#db2777", "#475569"
+    };
+
+    private static final int PADDING = 16;
+    private static final int GAP = 16;
+    private static final int HEADER = 24;
+    private static final int NAME_FONT = 12;
+    private static final int DIM_FONT = 10;
+
+    private final PackingInstance instance;
+    private final PackingLayout layout;
+    private final double scale;
+    private final int panelW;
+    private final int panelH;
+    private final int columns;
+    private final int width;
+    private final int height;
+
+    /** panelWidth: 트럭 패널 하나의 너비(px), columns: 한 줄에 놓을 트럭 수 */
+    LayoutRenderer(PackingInstance instance, PackingLayout layout, int panelWidth, int columns) {
+        this.instance = instance;
+        this.layout = layout;
+        this.scale = (double) panelWidth / instance.binWidth();
+        this.panelW = panelWidth;
+        this.panelH = Math.max(1, (int) Math.round(instance.binHeight() * scale));
+        int trucks = Math.max(1, layout.truckCount());
+        this.columns = Math.min(columns, trucks);
+        int rows = (trucks + this.columns - 1) / this.columns;
+        this.width = PADDING * 2 + this.columns * panelW + (this.columns - 1) * GAP;
+        this.height = PADDING * 2 + rows * (HEADER + panelH) + (rows - 1) * GAP;
+    }
+
+    long pixels() {
+        return (long) width * height;
+    }
+
+    byte[] svg() {
+        StringBuilder sb = new StringBuilder(256 + layout.size() * 160);
+        sb.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width).append("\" height=\"").append(height)
+                .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height)
+                .append("\" font-family=\"sans-serif\">\n");
+        sb.append("<rect width=\"100%\" height=\"100%\" fill=\"#ffffff\"/>\n");
+        for (int t = 0; t < layout.truckCount(); t++) {
+            int px = panelX(t);
+            int py = panelY(t);
+            sb.append("<text x=\"").append(px).append("\" y=\"").append(py + HEADER - 8)
+                    .append("\" font-size=\"14\" font-weight=\"bold\" fill=\"#0f172a\">트럭 #").append(t + 1).append("</text>\n");
+            sb.append("<rect x=\"").append(px).append("\" y=\"").append(py + HEADER).append("\" width=\"").append(panelW)
+                    .append("\" height=\"").append(panelH).append("\" fill=\"#f8fafc\" stroke=\"#cbd5e1\" stroke-width=\"2\"/>\n");
+        }
+        for (int i = 0; i < layout.size(); i++) {
+            int t = layout.truck(i);
+            double x = panelX(t) + layout.x(i) * scale;
+            double y = panelY(t) + HEADER + layout.y(i) * scale;
+            double w = layout.width(i) * scale;
+            double h = layout.height(i) * scale;
+            int color = colorIndex(layout.type(i));
+            sb.append("<rect x=\"").append(num(x + 0.5)).append("\" y=\"").append(num(y + 0.5))
+                    .append("\" width=\"").append(num(Math.max(0, w - 1))).append("\" height=\"").append(num(Math.max(0, h - 1)))
+                    .append("\" rx=\"2\" fill=\"").append(FILLS[color]).append("\" fill-opacity=\"0.85\" stroke=\"")
+                    .append(STROKES[color]).append("\" stroke-width=\"1\"/>\n");
+            String name = fit(name(i), w - 4, NAME_FONT);
+            if (name == null || h < NAME_FONT + 2) continue;
+            boolean withDim = h >= NAME_FONT + DIM_FONT + 6;
+            String dim = withDim ? fit(dimension(i), w - 4, DIM_FONT) : null;
+            double cx = x + w / 2;
+            double cy = y + h / 2;
+            double nameY = dim != null ? cy - DIM_FONT / 2.0 : cy;
+            sb.append("<text x=\"").append(num(cx)).append("\" y=\"").append(num(nameY))
+                    .append("\" font-size=\"").append(NAME_FONT).append("\" font-weight=\"bold\" fill=\"#ffffff\"")
+                    .append(" text-anchor=\"middle\" dominant-baseline=\"middle\">").append(escape(name)).append("</text>\n");
+            if (dim != null) {
+                sb.append("<text x=\"").append(num(cx)).append("\" y=\"").append(num(cy + NAME_FONT / 2.0 + 2))
+                        .append("\" font-size=\"").append(DIM_FONT).append("\" fill=\"#ffffff\"")
+                        .append(" text-anchor=\"middle\" dominant-baseline=\"middle\">").append(escape(dim)).append("</text>\n");
+            }
+        }
+        sb.append("</svg>\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] png() {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+
+            Font header = new Font(Font.SANS_SERIF, Font.BOLD, 14);
+            for (int t = 0; t < layout.truckCount(); t++) {
+                int px = panelX(t);
+                int py = panelY(t);
+                g.setFont(header);
+                g.setColor(Color.decode("#0f172a"));
+                g.drawString("트럭 #" + (t + 1), px, py + HEADER - 8);
+                g.setColor(Color.decode("#f8fafc"));
+                g.fillRect(px, py + HEADER, panelW, panelH);
+                g.setColor(Color.decode("#cbd5e1"));
+                g.setStroke(new BasicStroke(2));
+                g.drawRect(px, py + HEADER, panelW, panelH);
+            }
+
+            Font nameFont = new Font(Font.SANS_SERIF, Font.BOLD, NAME_FONT);
+            Font dimFont = new Font(Font.SANS_SERIF, Font.PLAIN, DIM_FONT);
+            g.setStroke(new BasicStroke(1));
+            for (int i = 0; i < layout.size(); i++) {
+                int t = layout.truck(i);
+                int x = (int) Math.round(panelX(t) + layout.x(i) * scale);
+                int y = (int) Math.round(panelY(t) + HEADER + layout.y(i) * scale);
+                int w = Math.max(1, (int) Math.round(layout.width(i) * scale));
+                int h = Math.max(1, (int) Math.round(layout.height(i) * scale));
+                int color = colorIndex(layout.type(i));
+                Color fill = Color.decode(FILLS[color]);
+                g.setColor(new Color(fill.getRed(), fill.getGreen(), fill.getBlue(), 217));
+                g.fillRoundRect(x + 1, y + 1, Math.max(0, w - 2), Math.max(0, h - 2), 4, 4);
+                g.setColor(Color.decode(STROKES[color]));
+                g.drawRoundRect(x + 1, y + 1, Math.max(0, w - 2), Math.max(0, h - 2), 4, 4);
+
+                String name = fit(name(i), w - 4, NAME_FONT);
+                if (name == null || h < NAME_FONT + 2) continue;
+                boolean withDim = h >= NAME_FONT + DIM_FONT + 6;
+                String dim = withDim ? fit(dimension(i), w - 4, DIM_FONT) : null;
+                int cx = x + w / 2;
+                int cy = y + h / 2;
+                g.setColor(Color.WHITE);
+                g.setFont(nameFont);
+                drawCentered(g, name, cx, dim != null ? cy - DIM_FONT / 2 : cy);
+                if (dim != null) {
+                    g.setFont(dimFont);
+                    drawCentered(g, dim, cx, cy + NAME_FONT / 2 + 2);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int cx, int cy) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, cx - metrics.stringWidth(text) / 2, cy + (metrics.getAscent() - metrics.getDescent()) / 2);
+    }
+
+    private int panelX(int truck) {
+        return PADDING + (truck % columns) * (panelW + GAP);
+    }
+
+    private int panelY(int truck) {
+        return PADDING + (truck / columns) * (HEADER + panelH + GAP);
+    }
+
+    private int colorIndex(int type) {
+        long id = instance.itemIds()[type];
+        return (int) Math.floorMod(id, (long) FILLS.length);
+    }
+
+    private String name(int i) {
+        String name = instance.names()[layout.type(i)];
+        if (name == null || name.isBlank()) name = "#" + instance.itemIds()[layout.type(i)];
+        return layout.rotated(i) ? name + " ↻" : name;
+    }
+
+    private String dimension(int i) {
+        return layout.width(i) + "×" + layout.height(i) + "mm";
+    }
+
+    /**
+     * 폭 maxWidth(px)에 들어가도록 줄인 라벨. 글자 폭은 글꼴 크기 기준 근사치(한글 등 전각 1.0, 그 외 0.6)로 계산해
+     * SVG와 PNG가 같은 규칙으로 자른다. 한 글자도 들어가지 않으면 null.
+     */
+    static String fit(String text, double maxWidth, int fontSize) {
+        double total = 0;
+        for (int k = 0; k < text.length(); k++) total += charWidth(text.charAt(k), fontSize);
+        if (total <= maxWidth) return text;
+        double ellipsis = charWidth('…', fontSize);
+        double used = 0;
+        int end = 0;
+        while (end < text.length() && used + charWidth(text.charAt(end), fontSize) + ellipsis <= maxWidth) {
+            used += charWidth(text.charAt(end), fontSize);
+            end++;
+        }
+        return end == 0 ? null : text.substring(0, end) + "…";
+    }
+
+    private static double charWidth(char c, int fontSize) {
+        return (c < 0x1100 ? 0.6 : 1.0) * fontSize;
+    }
+
+    private static String num(double v) {
+        return String.format(Locale.ROOT, "%.1f", v);
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int k = 0; k < text.length(); k++) {
+            char c = text.charAt(k);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> {
+                    // XML 1.0에서 허용되지 않는 제어 문자는 뺀다
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
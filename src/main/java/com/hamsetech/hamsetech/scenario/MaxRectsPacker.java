@@ -0,0 +1,232 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * frontend/src/utils/packing.ts의 packIntoTrucks를 서버로 옮긴 MaxRects 패커.
+ * {@link FitRule}(기본 Best-Short-Side-Fit)로 현재 트럭의 빈 공간(free rect)에 배치하고, 들어갈 곳이 없으면 새 트럭을 연다.
+ * 빈 공간은 {@link FreeSpace}가 관리하며 기본값은 격자 색인을 둔 {@link FreeRectIndex}다.
+ * 점수가 같은 후보는 (y, x) 순으로 고른다. packing.ts는 빈 공간 목록에서 먼저 찾은 후보를 고르므로 동점이 있으면
+ * 배치(드물게 트럭 수)가 프론트엔드와 다를 수 있다. 색인은 목록 순서를 유지하지 않으므로 저장 방식과 관계없이
+ * 같은 결과를 내도록 위치로 동점을 가른다.
+ * 인스턴스는 상태를 가지므로 패킹 한 번에 하나씩 사용한다.
+ */
+final class MaxRectsPacker {
+
+    private final PackingInstance instance;
+    private final FitRule rule;
+    private final int binW;
+    private final int binH;
+    private final int margin;
+
+    // 현재 트럭의 빈 공간
+    private final FreeSpace free;
+
+    // findBestFit 결과
+    private int bestX;
+    private int bestY;
+    private int bestOrientation;
+
+    // CONTACT_POINT 점수 계산용: 현재 트럭의 첫 배치 인덱스
+    private PackingLayout layout;
+    private int truckStart;
+
+    MaxRectsPacker(PackingInstance instance) {
+        this(instance, FitRule.BSSF);
+    }
+
+    MaxRectsPacker(PackingInstance instance, FitRule rule) {
+        this(instance, rule, new FreeRectIndex());
+    }
+
+    MaxRectsPacker(PackingInstance instance, FitRule rule, FreeSpace free) {
+        this.instance = instance;
+        this.free = free;
+        this.rule = rule;
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.margin = instance.margin();
+    }
+
+    PackingLayout pack(int[] sequence) {
+        return pack(sequence, TruckListener.NONE);
+    }
+
+    /** 트럭을 닫을 때마다 listener에 알리면서 패킹한다 (스트리밍 응답용) */
+    PackingLayout pack(int[] sequence, TruckListener listener) {
+        return pack(sequence, new PackingLayout(sequence.length), listener);
+    }
+
+    /**
+     * 배치를 out에 이어 쓴다. listener가 트럭을 닫을 때 out을 비우면({@link PackingLayout#clear()})
+     * 트럭 한 대 분량만 메모리에 두고 패킹할 수 있다.
+     */
+    PackingLayout pack(int[] sequence, PackingLayout out, TruckListener listener) {
+        layout = out;
+        truckStart = out.size();
+        int orientations = instance.allowRotate() ? 2 : 1;
+        int truck = 0;
+        boolean truckUsed = false;
+        free.reset(binW, binH);
+
+        for (int type : sequence) {
+            int w = instance.widths()[type];
+            int h = instance.heights()[type];
+
+            if (!findBestFit(w + margin, h + margin, h + margin, w + margin, orientations)) {
+                // 현재 트럭에 자리가 없으면 새 트럭에서 (0, 0)에 배치
+                if (truckUsed) {
+                    listener.truckClosed(layout, truck, truckStart, layout.size());
+                    truck++;
+                }
+                truckStart = layout.size();
+                free.reset(binW, binH);
+                bestOrientation = instance.firstFittingOrientation(type);
+                bestX = 0;
+                bestY = 0;
+            }
+
+            boolean rotated = bestOrientation == 1;
+            int displayW = rotated ? h : w;
+            int displayH = rotated ? w : h;
+            layout.place(type, bestX, bestY, displayW, displayH, rotated, truck);
+            truckUsed = true;
+            free.place(bestX, bestY, displayW + margin, displayH + margin);
+        }
+        if (truckUsed) listener.truckClosed(layout, truck, truckStart, layout.size());
+        return layout;
+    }
+
+    /**
+     * 빈 트럭 하나를 채운다 (혼합 차량 패킹용). typeOrder 순서로 remaining에 남은 아이템을 넣되, 자리가 없는 종류는
+     * 트럭을 닫지 않고 건너뛰어 다음 종류를 시도한다. 넣은 수량만큼 remaining을 줄이고 배치는 out에 truck 번호로 기록한다.
+     */
+    void fillOne(int[] typeOrder, int[] remaining, PackingLayout out, int truck) {
+        layout = out;
+        truckStart = out.size();
+        free.reset(binW, binH);
+        fillRemaining(typeOrder, remaining, out, truck);
+    }
+
+    /**
+     * 이미 일부가 실린 트럭에 남은 아이템을 더 싣는다 (부분 재계산용). out의 from 이후 배치가 이 트럭의 기존 배치이며
+     * 그 자리는 그대로 두고 남은 빈 공간에만 fillOne과 같은 방식으로 넣는다.
+     */
+    void fillAround(int[] typeOrder, int[] remaining, PackingLayout out, int truck, int from) {
+        layout = out;
+        truckStart = from;
+        free.reset(binW, binH);
+        for (int i = from; i < out.size(); i++) {
+            free.place(out.x(i), out.y(i), out.width(i) + margin, out.height(i) + margin);
+        }
+        fillRemaining(typeOrder, remaining, out, truck);
+    }
+
+    private void fillRemaining(int[] typeOrder, int[] remaining, PackingLayout out, int truck) {
+        int orientations = instance.allowRotate() ? 2 : 1;
+        for (int type : typeOrder) {
+            int w = instance.widths()[type];
+            int h = instance.heights()[type];
+            while (remaining[type] > 0 && findBestFit(w + margin, h + margin, h + margin, w + margin, orientations)) {
+                boolean rotated = bestOrientation == 1;
+                int displayW = rotated ? h : w;
+                int displayH = rotated ? w : h;
+                out.place(type, bestX, bestY, displayW, displayH, rotated, truck);
+                free.place(bestX, bestY, displayW + margin, displayH + margin);
+                remaining[type]--;
+            }
+        }
+    }
+
+    /**
+     * 방향 → 들어가는 free rect 순으로 훑어 규칙 점수가 가장 작은 위치를 고른다.
+     * 점수가 같으면 위쪽(y), 왼쪽(x), 원래 방향 순으로 고르므로 빈 공간의 저장 순서와 관계없이 결과가 같다.
+     */
+    private boolean findBestFit(int packW0, int packH0, int packW1, int packH1, int orientations) {
+        long bestPrimary = Long.MAX_VALUE;
+        long bestSecondary = Long.MAX_VALUE;
+        int bestTieY = Integer.MAX_VALUE;
+        int bestTieX = Integer.MAX_VALUE;
+        boolean found = false;
+        for (int o = 0; o < orientations; o++) {
+            int pw = o == 0 ? packW0 : packW1;
+            int ph = o == 0 ? packH0 : packH1;
+            int n = free.collectFits(pw, ph);
+            for (int k = 0; k < n; k++) {
+                int slot = free.candidate(k);
+                int fx = free.x(slot);
+                int fy = free.y(slot);
+                int fw = free.w(slot);
+                int fh = free.h(slot);
+                int leftoverW = fw - pw;
+                int leftoverH = fh - ph;
+                int shortSide = Math.min(leftoverW, leftoverH);
+                int longSide = Math.max(leftoverW, leftoverH);
+                long primary;
+                long secondary;
+                switch (rule) {
+                    case BSSF -> {
+                        // packing.ts와 같은 점수식
+                        primary = (long) shortSide * 10000 + longSide;
+                        secondary = 0;
+                    }
+                    case BLSF -> {
+                        primary = longSide;
+                        secondary = shortSide;
+                    }
+                    case BEST_AREA_FIT -> {
+                        primary = (long) fw * fh - (long) pw * ph;
+                        secondary = shortSide;
+                    }
+                    case BOTTOM_LEFT -> {
+                        primary = (long) fy + ph;
+                        secondary = fx;
+                    }
+                    default -> {
+                        primary = -contactScore(fx, fy, pw, ph);
+                        secondary = 0;
+                    }
+                }
+                if (isBetter(primary, secondary, fy, fx, bestPrimary, bestSecondary, bestTieY, bestTieX)) {
+                    bestPrimary = primary;
+                    bestSecondary = secondary;
+                    bestTieY = fy;
+                    bestTieX = fx;
+                    bestX = fx;
+                    bestY = fy;
+                    bestOrientation = o;
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isBetter(long primary, long secondary, int y, int x,
+                                    long bestPrimary, long bestSecondary, int bestY, int bestX) {
+        if (primary != bestPrimary) return primary < bestPrimary;
+        if (secondary != bestSecondary) return secondary < bestSecondary;
+        if (y != bestY) return y < bestY;
+        return x < bestX;
+    }
+
+    /** 트럭 벽 및 현재 트럭에 이미 배치된 아이템(마진 포함)과 맞닿는 변 길이의 합 */
+    private long contactScore(int x, int y, int pw, int ph) {
+        long score = 0;
+        if (x == 0) score += ph;
+        if (x + pw == binW) score += ph;
+        if (y == 0) score += pw;
+        if (y + ph == binH) score += pw;
+        for (int i = truckStart; i < layout.size(); i++) {
+            int ox = layout.x(i);
+            int oy = layout.y(i);
+            int or = ox + layout.width(i) + margin;
+            int ob = oy + layout.height(i) + margin;
+            if (or == x || ox == x + pw) {
+                score += Math.max(0, Math.min(ob, y + ph) - Math.max(oy, y));
+            }
+            if (ob == y || oy == y + ph) {
+                score += Math.max(0, Math.min(or, x + pw) - Math.max(ox, x));
+            }
+        }
+        return score;
+    }
+}
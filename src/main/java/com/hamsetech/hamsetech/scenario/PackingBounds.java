@@ -0,0 +1,202 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * 필요한 트럭 수의 하한. 아이템은 마진을 더한 크기로 트럭을 차지하므로 모든 계산에 마진 포함 크기를 쓴다.
+ * 회전을 허용하면 들어갈 수 있는 모든 방향에서 성립하는 성질만 사용하므로 회전 여부와 관계없이 유효하다.
+ * <ul>
+ *   <li>L0: 연속 면적 하한 ⌈면적 합 / 트럭 면적⌉</li>
+ *   <li>L1: 어느 방향으로 놓아도 폭이 트럭 폭의 절반을 넘는 아이템은 서로 나란히 놓을 수 없으므로 세로로 쌓인다.
+ *       그 높이들에 1차원 Martello–Toth L2를 적용한다 (높이 방향도 대칭으로 계산).</li>
+ *   <li>L2: Martello–Vigo 방식. (p, q)마다 폭 &gt; W-p 이고 높이 &gt; H-q 인 아이템(J1)은 각자 트럭 하나씩 쓰고,
+ *       폭 ≥ p 이고 높이 ≥ q 인 나머지 아이템(J3)은 J1과 같은 트럭에 들어갈 수 없으므로 J1 수 + ⌈J3 면적 / 트럭 면적⌉.
+ *       트럭 중앙을 덮는 아이템 수 + 그 트럭들의 남는 면적을 뺀 나머지 면적도 함께 본다.</li>
+ * </ul>
+ */
+final class PackingBounds {
+
+    // (p, q) 후보가 많으면 고르게 추려 계산량을 O(후보² × 종류)로 제한
+    private static final int MAX_CANDIDATES = 48;
+
+    /** 각 하한과 그 최댓값(lowerBound) */
+    record Bounds(int area, int l1, int l2) {
+        int lowerBound() {
+            return Math.max(area, Math.max(l1, l2));
+        }
+    }
+
+    private final int binW;
+    private final int binH;
+    private final long binArea;
+    private final int[] quantities;
+    // 종류별 가능한 방향의 (폭, 높이). 방향이 하나뿐이면 두 방향 값이 같다.
+    private final int[] w0;
+    private final int[] h0;
+    private final int[] w1;
+    private final int[] h1;
+
+    private PackingBounds(PackingInstance instance) {
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.binArea = (long) binW * binH;
+        this.quantities = instance.quantities();
+        int n = instance.typeCount();
+        w0 = new int[n];
+        h0 = new int[n];
+        w1 = new int[n];
+        h1 = new int[n];
+        int m = instance.margin();
+        for (int t = 0; t < n; t++) {
+            int pw = instance.widths()[t] + m;
+            int ph = instance.heights()[t] + m;
+            boolean fitsAsIs = pw <= binW && ph <= binH;
+            boolean fitsRotated = instance.allowRotate() && ph <= binW && pw <= binH;
+            if (fitsRotated && !fitsAsIs) {
+                w0[t] = ph;
+                h0[t] = pw;
+            } else {
+                w0[t] = pw;
+                h0[t] = ph;
+            }
+            if (fitsRotated && fitsAsIs) {
+                w1[t] = ph;
+                h1[t] = pw;
+            } else {
+                w1[t] = w0[t];
+                h1[t] = h0[t];
+            }
+        }
+    }
+
+    static Bounds of(PackingInstance instance) {
+        PackingBounds b = new PackingBounds(instance);
+        return new Bounds(b.area(), Math.max(b.l1(true), b.l1(false)), b.l2());
+    }
+
+    /** L0, L1, L2 중 가장 큰 하한 */
+    static int lowerBound(PackingInstance instance) {
+        return of(instance).lowerBound();
+    }
+
+    /** 연속 면적 하한: ⌈아이템 면적 합 / 트럭 면적⌉ */
+    static int area(PackingInstance instance) {
+        return new PackingBounds(instance).area();
+    }
+
+    private int area() {
+        long total = 0;
+        for (int t = 0; t < quantities.length; t++) total += (long) w0[t] * h0[t] * quantities[t];
+        return (int) ceilDiv(total, binArea);
+    }
+
+    /** wide=true면 항상 폭이 W/2를 넘는 아이템의 높이로, false면 항상 높이가 H/2를 넘는 아이템의 폭으로 1차원 하한 */
+    private int l1(boolean wide) {
+        int n = quantities.length;
+        int[] sizes = new int[n];
+        int[] counts = new int[n];
+        int k = 0;
+        for (int t = 0; t < n; t++) {
+            boolean always = wide
+                    ? 2 * w0[t] > binW && 2 * w1[t] > binW
+                    : 2 * h0[t] > binH && 2 * h1[t] > binH;
+            if (!always) continue;
+            sizes[k] = wide ? Math.min(h0[t], h1[t]) : Math.min(w0[t], w1[t]);
+            counts[k] = quantities[t];
+            k++;
+        }
+        return oneDimensional(Arrays.copyOf(sizes, k), Arrays.copyOf(counts, k), wide ? binH : binW);
+    }
+
+    /** 용량 capacity인 1차원 빈 패킹의 Martello–Toth L2 (sizes[i]가 counts[i]개) */
+    static int oneDimensional(int[] sizes, int[] counts, int capacity) {
+        if (sizes.length == 0) return 0;
+        TreeSet<Integer> thresholds = new TreeSet<>();
+        thresholds.add(0);
+        for (int s : sizes) {
+            if (2 * s <= capacity) thresholds.add(s);
+        }
+        long best = 0;
+        for (int k : thresholds) {
+            long n1 = 0, n2 = 0, sum2 = 0, sum3 = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                int s = sizes[i];
+                if (s > capacity - k) {
+                    n1 += counts[i];
+                } else if (2 * s > capacity) {
+                    n2 += counts[i];
+                    sum2 += (long) s * counts[i];
+                } else if (s >= k) {
+                    sum3 += (long) s * counts[i];
+                }
+            }
+            long spare = n2 * capacity - sum2;
+            best = Math.max(best, n1 + n2 + Math.max(0, ceilDiv(sum3 - spare, capacity)));
+        }
+        return (int) best;
+    }
+
+    private int l2() {
+        int n = quantities.length;
+
+        // 트럭 중앙을 덮는 아이템은 한 트럭에 하나뿐이고, 나머지 아이템은 그 트럭들의 남는 면적을 함께 쓸 수 있다
+        long big = 0;
+        long bigSpare = 0;
+        long restArea = 0;
+        for (int t = 0; t < n; t++) {
+            long area = (long) w0[t] * h0[t] * quantities[t];
+            if (covers(t, binW / 2, binH / 2)) {
+                big += quantities[t];
+                bigSpare += binArea * quantities[t] - area;
+            } else {
+                restArea += area;
+            }
+        }
+        long best = big + Math.max(0, ceilDiv(restArea - bigSpare, binArea));
+
+        int[] ps = candidates(w0, w1, binW);
+        int[] qs = candidates(h0, h1, binH);
+        for (int p : ps) {
+            for (int q : qs) {
+                long j1 = 0;
+                long j3Area = 0;
+                for (int t = 0; t < n; t++) {
+                    if (covers(t, p, q)) {
+                        j1 += quantities[t];
+                    } else if (Math.min(w0[t], w1[t]) >= p && Math.min(h0[t], h1[t]) >= q) {
+                        j3Area += (long) w0[t] * h0[t] * quantities[t];
+                    }
+                }
+                best = Math.max(best, j1 + ceilDiv(j3Area, binArea));
+            }
+        }
+        return (int) best;
+    }
+
+    // 모든 방향에서 폭 > W-p 이고 높이 > H-q
+    private boolean covers(int t, int p, int q) {
+        return w0[t] > binW - p && h0[t] > binH - q && w1[t] > binW - p && h1[t] > binH - q;
+    }
+
+    // 0과 capacity/2 이하인 치수들 (많으면 고르게 추림)
+    private static int[] candidates(int[] a, int[] b, int capacity) {
+        TreeSet<Integer> values = new TreeSet<>();
+        values.add(0);
+        for (int i = 0; i < a.length; i++) {
+            if (2 * a[i] <= capacity) values.add(a[i]);
+            if (2 * b[i] <= capacity) values.add(b[i]);
+        }
+        int[] all = values.stream().mapToInt(Integer::intValue).toArray();
+        if (all.length <= MAX_CANDIDATES) return all;
+        int[] picked = new int[MAX_CANDIDATES];
+        for (int i = 0; i < MAX_CANDIDATES; i++) {
+            picked[i] = all[(int) ((long) i * (all.length - 1) / (MAX_CANDIDATES - 1))];
+        }
+        return picked;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return a <= 0 ? 0 : (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * GREEDY 모드에서 사용할 배치 엔진. POST /api/scenarios/{id}/pack?engine=... 로 선택한다.
+ * 어느 엔진이든 결과는 같은 배치 형식(packing.ts의 Placed)으로 내려간다.
+ */
+public enum PackingEngine {
+    /** 빈 공간 목록 기반 MaxRects (packing.ts와 같은 방식, 적재율 최상) */
+    MAXRECTS,
+    /** 윤곽선 기반 Skyline (아이템이 매우 많을 때 빠름) */
+    SKYLINE,
+    /** 빈 공간을 겹치지 않게 자르는 Guillotine */
+    GUILLOTINE,
+    /** 전체 수량이 packing.auto-skyline-threshold 이하면 MAXRECTS, 넘으면 SKYLINE */
+    AUTO
+}
@@ -0,0 +1,63 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.List;
+
+/**
+ * 혼합 차량 패킹 입력: 트럭 종류별 크기/대당 비용/가용 대수 (가용 대수 제한이 없으면 Integer.MAX_VALUE).
+ */
+public record PackingFleet(
+        long[] truckTypeIds,
+        String[] names,
+        int[] widths,
+        int[] heights,
+        long[] costs,
+        int[] available
+) {
+
+    public static final String DEFAULT_TRUCK_NAME = "기본 트럭";
+
+    public PackingFleet {
+        for (int k = 0; k < widths.length; k++) {
+            if (widths[k] <= 0 || heights[k] <= 0) {
+                throw new IllegalArgumentException("트럭 크기가 올바르지 않습니다: " + names[k]);
+            }
+            if (costs[k] < 0) {
+                throw new IllegalArgumentException("트럭 비용은 0 이상이어야 합니다: " + names[k]);
+            }
+        }
+    }
+
+    /**
+     * 시나리오의 트럭 종류 목록. 등록된 종류가 없으면 시나리오 트럭 크기 한 종류(비용 1, 대수 제한 없음)를 쓰므로
+     * 결과는 트럭 수 최소화와 같다.
+     */
+    public static PackingFleet of(PackingScenario scenario) {
+        List<PackingTruckType> types = scenario.getTruckTypes() != null ? scenario.getTruckTypes() : List.of();
+        if (types.isEmpty()) {
+            return new PackingFleet(new long[]{-1L}, new String[]{DEFAULT_TRUCK_NAME},
+                    new int[]{scenario.getTruckWidth()}, new int[]{scenario.getTruckHeight()},
+                    new long[]{1L}, new int[]{Integer.MAX_VALUE});
+        }
+        int n = types.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        long[] costs = new long[n];
+        int[] available = new int[n];
+        for (int k = 0; k < n; k++) {
+            PackingTruckType type = types.get(k);
+            ids[k] = type.getId() != null ? type.getId() : -1L;
+            names[k] = type.getName();
+            widths[k] = type.getWidth();
+            heights[k] = type.getHeight();
+            costs[k] = type.getCost();
+            available[k] = type.getAvailableCount() != null ? type.getAvailableCount() : Integer.MAX_VALUE;
+        }
+        return new PackingFleet(ids, names, widths, heights, costs, available);
+    }
+
+    public int typeCount() {
+        return widths.length;
+    }
+}
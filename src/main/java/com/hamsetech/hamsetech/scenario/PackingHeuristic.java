@@ -0,0 +1,27 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 정렬 기준과 배치 규칙의 조합. 병렬 경쟁(race) 모드의 후보 단위다.
+ */
+public record PackingHeuristic(FitRule rule, SortOrder order) {
+
+    public static final PackingHeuristic DEFAULT = new PackingHeuristic(FitRule.BSSF, SortOrder.AREA_DESC);
+
+    /** 모든 규칙 × 정렬 조합. 기본 조합이 첫 번째다. */
+    public static List<PackingHeuristic> all() {
+        List<PackingHeuristic> candidates = new ArrayList<>();
+        for (SortOrder order : SortOrder.values()) {
+            for (FitRule rule : FitRule.values()) {
+                candidates.add(new PackingHeuristic(rule, order));
+            }
+        }
+        return candidates;
+    }
+
+    public String label() {
+        return rule.name() + "/" + order.name();
+    }
+}
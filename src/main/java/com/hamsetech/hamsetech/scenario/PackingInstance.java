@@ -0,0 +1,156 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 패킹 엔진 입력: 트럭 규격과 아이템 종류별 크기/수량.
+ * 아이템은 종류(type) 단위의 병렬 배열로 보관하며, 엔진은 종류 인덱스로만 아이템을 참조한다.
+ */
+public record PackingInstance(
+        int binWidth,
+        int binHeight,
+        boolean allowRotate,
+        int margin,
+        long[] itemIds,
+        String[] names,
+        int[] widths,
+        int[] heights,
+        int[] quantities
+) {
+
+    public PackingInstance {
+        if (binWidth <= 0 || binHeight <= 0) {
+            throw new IllegalArgumentException("트럭 크기가 올바르지 않습니다");
+        }
+        if (margin < 0) {
+            throw new IllegalArgumentException("마진은 0 이상이어야 합니다");
+        }
+    }
+
+    /**
+     * 시나리오로부터 입력을 만든다. 아이템 종류는 (가로, 세로, 수량) 순으로 정렬한 정규형이므로
+     * 기하 정보가 같은 시나리오는 아이템 입력 순서와 관계없이 같은 배열, 같은 결과를 얻는다 (결과 캐시 공유의 전제).
+     * <p>
+     * packing.ts는 면적이 같은 아이템을 사용자가 입력한 순서대로 싣지만, 서버는 이 정규형 순서로 싣는다.
+     * 그래서 면적이 같은 서로 다른 종류가 있으면 같은 엔진이라도 배치와 트럭 수가 프론트엔드 결과와 다를 수 있다.
+     */
+    public static PackingInstance of(PackingScenario scenario) {
+        List<PackingItem> items = new ArrayList<>(scenario.getItems() != null ? scenario.getItems() : List.of());
+        items.sort(Comparator.comparingInt((PackingItem item) -> item.getWidth())
+                .thenComparingInt(PackingItem::getHeight)
+                .thenComparingInt(PackingInstance::normalizedQuantity));
+        int n = items.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        int[] quantities = new int[n];
+        for (int i = 0; i < n; i++) {
+            PackingItem item = items.get(i);
+            ids[i] = item.getId() != null ? item.getId() : -1L;
+            names[i] = item.getName();
+            widths[i] = item.getWidth();
+            heights[i] = item.getHeight();
+            quantities[i] = normalizedQuantity(item);
+        }
+        return new PackingInstance(
+                scenario.getTruckWidth(),
+                scenario.getTruckHeight(),
+                scenario.getAllowRotate() == null || scenario.getAllowRotate(),
+                scenario.getMargin() != null ? scenario.getMargin() : 0,
+                ids, names, widths, heights, quantities);
+    }
+
+    // 프론트엔드 expandQuantities와 동일하게 수량은 최소 1로 취급
+    private static int normalizedQuantity(PackingItem item) {
+        return Math.max(1, item.getQuantity() != null ? item.getQuantity() : 1);
+    }
+
+    /**
+     * 패킹 결과를 결정하는 기하 정보(트럭 크기, 회전, 마진, 아이템 (가로, 세로, 수량) 다중집합)의 SHA-256 해시.
+     * 아이템 이름/ID는 포함하지 않으므로 기하 정보가 같은 시나리오끼리 결과를 공유할 수 있다.
+     */
+    public String geometryKey() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buf = ByteBuffer.allocate(16 + typeCount() * 12);
+            buf.putInt(binWidth).putInt(binHeight).putInt(allowRotate ? 1 : 0).putInt(margin);
+            for (int t = 0; t < typeCount(); t++) {
+                buf.putInt(widths[t]).putInt(heights[t]).putInt(quantities[t]);
+            }
+            return HexFormat.of().formatHex(digest.digest(buf.array()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 빈 트럭에 넣을 수 있는 첫 번째 방향 (0: 원래 방향, 1: 회전).
+     * 어느 방향으로도 들어가지 않으면 packing.ts와 같은 메시지로 예외를 던진다.
+     */
+    int firstFittingOrientation(int type) {
+        int pw = widths[type] + margin;
+        int ph = heights[type] + margin;
+        if (pw <= binWidth && ph <= binHeight) return 0;
+        if (allowRotate && ph <= binWidth && pw <= binHeight) return 1;
+        throw new IllegalArgumentException("아이템이 트럭 크기보다 큽니다: " + names[type]);
+    }
+
+    /** 모든 종류가 빈 트럭에 어느 방향으로든 들어가는지 확인한다. 아니면 {@link #firstFittingOrientation}과 같은 예외 */
+    void requireAllFit() {
+        for (int t = 0; t < typeCount(); t++) firstFittingOrientation(t);
+    }
+
+    /** 아이템은 그대로 두고 트럭 크기만 바꾼 입력 (혼합 차량 패킹용) */
+    PackingInstance withBin(int width, int height) {
+        return new PackingInstance(width, height, allowRotate, margin, itemIds, names, widths, heights, quantities);
+    }
+
+    public int typeCount() {
+        return widths.length;
+    }
+
+    public long unitCount() {
+        long total = 0;
+        for (int q : quantities) total += q;
+        return total;
+    }
+
+    /**
+     * 수량을 펼친 배치 순서(종류 인덱스 배열).
+     * 기본값은 packing.ts처럼 면적 내림차순 안정 정렬이며, 면적이 같으면 종류 배열(정규형) 순서를 유지한다.
+     */
+    public int[] unitSequence() {
+        return unitSequence(SortOrder.AREA_DESC);
+    }
+
+    public int[] unitSequence(SortOrder sortOrder) {
+        long units = unitCount();
+        if (units > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("아이템 수량이 너무 많습니다");
+        }
+        int[] sequence = new int[(int) units];
+        int k = 0;
+        for (int t : typeOrder(sortOrder)) {
+            for (int q = 0; q < quantities[t]; q++) sequence[k++] = t;
+        }
+        return sequence;
+    }
+
+    /** 정렬 기준에 따른 아이템 종류 순서 (안정 정렬) */
+    public int[] typeOrder(SortOrder sortOrder) {
+        Integer[] order = new Integer[typeCount()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong((Integer t) -> sortOrder.key(widths[t], heights[t])).reversed());
+        int[] types = new int[order.length];
+        for (int i = 0; i < order.length; i++) types[i] = order[i];
+        return types;
+    }
+}
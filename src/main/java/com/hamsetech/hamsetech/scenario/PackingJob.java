@@ -0,0 +1,121 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * 비동기 적재 계산 작업 한 건. 상태와 결과는 작업 스레드가 쓰고 조회 요청 스레드가 읽으므로 volatile로 둔다.
+ * 끝난 상태(성공/실패/취소)가 되면 onFinish를 한 번만 실행한다. 작업 스레드가 시작되기 전에 취소돼도 실행된다.
+ */
+public class PackingJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String owner;
+    private final Long scenarioId;
+    private final PackingInstance instance;
+    private final Instant createdAt = Instant.now();
+    private final Runnable onFinish;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile PackingResult result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+    private volatile Future<?> future;
+
+    PackingJob(String id, String owner, Long scenarioId, PackingInstance instance, Runnable onFinish) {
+        this.id = id;
+        this.owner = owner;
+        this.scenarioId = scenarioId;
+        this.instance = instance;
+        this.onFinish = onFinish;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Long getScenarioId() {
+        return scenarioId;
+    }
+
+    public PackingInstance getInstance() {
+        return instance;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public PackingResult getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean start() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void succeed(PackingResult result) {
+        if (status.isFinished()) return;
+        this.result = result;
+        finish(Status.SUCCEEDED);
+    }
+
+    synchronized void fail(String error) {
+        if (status.isFinished()) return;
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /** 끝나지 않은 작업이면 취소 상태로 바꾸고 true */
+    synchronized boolean cancel() {
+        if (status.isFinished()) return false;
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    // 호출하는 쪽이 모두 끝난 상태인지 먼저 확인하므로 작업마다 한 번만 불린다.
+    // 끝난 상태를 본 클라이언트가 바로 다시 제출할 수 있도록 onFinish를 상태보다 먼저 실행한다
+    private void finish(Status finalStatus) {
+        onFinish.run();
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+}
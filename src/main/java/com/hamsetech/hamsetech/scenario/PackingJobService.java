@@ -0,0 +1,115 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 비동기 적재 계산 작업 관리. 작업마다 가상 스레드를 쓰고, 동시에 계산하는 작업 수는 세마포어로 제한한다.
+ * 대기 중인 작업은 가상 스레드에서 세마포어를 기다리므로 Tomcat 요청 스레드나 플랫폼 스레드를 점유하지 않는다.
+ * 사용자별로 끝나지 않은 작업 수를 제한하고, 끝난 작업은 보관 시간(TTL)이 지나면 지운다.
+ * 사용자별 작업 수는 작업이 끝난 상태가 될 때 줄이므로, 작업 스레드가 시작되기 전에 취소된 작업도 자리를 돌려준다.
+ */
+@Service
+public class PackingJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PackingJobService.class);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxPerUser;
+    private final Duration resultTtl;
+
+    private final Map<String, PackingJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeByUser = new ConcurrentHashMap<>();
+
+    public PackingJobService(@Qualifier("packingJobExecutor") ExecutorService executor, PackingProperties properties) {
+        PackingProperties.Jobs config = properties.getJobs();
+        int concurrent = config.getMaxConcurrent() > 0
+                ? config.getMaxConcurrent()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = executor;
+        this.permits = new Semaphore(concurrent, true);
+        this.maxPerUser = config.getMaxPerUser();
+        this.resultTtl = Duration.ofSeconds(config.getResultTtlSeconds());
+    }
+
+    /**
+     * 작업을 등록하고 바로 돌려준다. 사용자의 끝나지 않은 작업 수가 한도를 넘으면 IllegalStateException.
+     */
+    public PackingJob submit(String owner, Long scenarioId, PackingInstance instance,
+                             Function<PackingInstance, PackingResult> work) {
+        AtomicInteger active = activeByUser.computeIfAbsent(owner, k -> new AtomicInteger());
+        if (active.incrementAndGet() > maxPerUser) {
+            active.decrementAndGet();
+            throw new IllegalStateException("진행 중인 적재 작업이 너무 많습니다 (최대 " + maxPerUser + "개)");
+        }
+
+        PackingJob job = new PackingJob(UUID.randomUUID().toString(), owner, scenarioId, instance, active::decrementAndGet);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, work)));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            active.decrementAndGet();
+            throw e;
+        }
+        return job;
+    }
+
+    private void run(PackingJob job, Function<PackingInstance, PackingResult> work) {
+        try {
+            permits.acquire();
+            try {
+                if (!job.start()) return;
+                job.succeed(work.apply(job.getInstance()));
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            job.cancel();
+        } catch (IllegalArgumentException e) {
+            job.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("적재 작업 실패 - 작업: {}, 오류: {}", job.getId(), e.getMessage(), e);
+            job.fail("적재 계산 중 오류가 발생했습니다");
+        } finally {
+            // Error(StackOverflowError 등)로 빠져나와도 끝난 상태로 만들어 사용자별 작업 수를 돌려준다
+            if (!job.getStatus().isFinished()) job.fail("적재 계산 중 오류가 발생했습니다");
+        }
+    }
+
+    /** 본인 작업만 조회된다. */
+    public Optional<PackingJob> find(String owner, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getOwner().equals(owner));
+    }
+
+    /** 대기/실행 중인 작업을 취소한다. 실행 중이면 작업 스레드를 인터럽트한다. */
+    public Optional<PackingJob> cancel(String owner, String jobId) {
+        return find(owner, jobId).map(job -> {
+            if (job.cancel() && job.getFuture() != null) {
+                job.getFuture().cancel(true);
+            }
+            return job;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${packing.jobs.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
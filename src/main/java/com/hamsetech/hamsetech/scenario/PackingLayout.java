@@ -0,0 +1,130 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * 패킹 결과. 배치 정보를 배치당 객체 대신 열(column) 단위 int 배열로 보관한다.
+ * w/h는 화면 표시용 크기(마진 제외)이며 packing.ts의 Placed와 같은 의미다.
+ */
+public final class PackingLayout {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** 배치 하나가 차지하는 배열 공간 (int 6개 + boolean 1개) */
+    static final int BYTES_PER_PLACEMENT = 6 * Integer.BYTES + 1;
+
+    private int size;
+    private int truckCount;
+    private int[] types;
+    private int[] xs;
+    private int[] ys;
+    private int[] widths;
+    private int[] heights;
+    private int[] trucks;
+    private boolean[] rotated;
+
+    public PackingLayout() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public PackingLayout(int capacity) {
+        int c = Math.max(1, capacity);
+        types = new int[c];
+        xs = new int[c];
+        ys = new int[c];
+        widths = new int[c];
+        heights = new int[c];
+        trucks = new int[c];
+        rotated = new boolean[c];
+    }
+
+    public void place(int type, int x, int y, int width, int height, boolean isRotated, int truck) {
+        if (size == types.length) grow();
+        types[size] = type;
+        xs[size] = x;
+        ys[size] = y;
+        widths[size] = width;
+        heights[size] = height;
+        trucks[size] = truck;
+        rotated[size] = isRotated;
+        size++;
+        if (truck >= truckCount) truckCount = truck + 1;
+    }
+
+    /**
+     * 배치를 모두 비운다 (배열은 재사용). truckCount는 지금까지 배치한 가장 큰 트럭 번호 기준으로 유지하므로
+     * 트럭을 하나씩 내보내고 비우는 경우에도 전체 트럭 수를 나타낸다.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int c = types.length * 2;
+        types = Arrays.copyOf(types, c);
+        xs = Arrays.copyOf(xs, c);
+        ys = Arrays.copyOf(ys, c);
+        widths = Arrays.copyOf(widths, c);
+        heights = Arrays.copyOf(heights, c);
+        trucks = Arrays.copyOf(trucks, c);
+        rotated = Arrays.copyOf(rotated, c);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int truckCount() {
+        return truckCount;
+    }
+
+    public int type(int i) {
+        return types[i];
+    }
+
+    public int x(int i) {
+        return xs[i];
+    }
+
+    public int y(int i) {
+        return ys[i];
+    }
+
+    public int width(int i) {
+        return widths[i];
+    }
+
+    public int height(int i) {
+        return heights[i];
+    }
+
+    public boolean rotated(int i) {
+        return rotated[i];
+    }
+
+    public int truck(int i) {
+        return trucks[i];
+    }
+
+    /** 배치된 아이템의 표시 면적 합계 (마진 제외) */
+    public long placedArea() {
+        long area = 0;
+        for (int i = 0; i < size; i++) area += (long) widths[i] * heights[i];
+        return area;
+    }
+
+    /** 특정 트럭에 배치된 아이템의 표시 면적 합계 */
+    public long truckArea(int truck) {
+        long area = 0;
+        for (int i = 0; i < size; i++) {
+            if (trucks[i] == truck) area += (long) widths[i] * heights[i];
+        }
+        return area;
+    }
+
+    /** 사용한 트럭 전체 면적 대비 아이템 면적 비율 (0~1) */
+    public double utilization(int binWidth, int binHeight) {
+        if (truckCount == 0) return 0;
+        return (double) placedArea() / ((double) binWidth * binHeight * truckCount);
+    }
+}
@@ -0,0 +1,220 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * 패킹 결과를 packing_layouts.placements 컬럼에 저장하고 응답으로 보내기 위한 압축 바이너리 인코딩.
+ *
+ * <pre>
+ * version(1B) = 2
+ * typeCount, (width, height, quantity) × typeCount      -- 인코딩 당시 입력의 아이템 종류 (정규형 순서)
+ * truckCount, placementCount × truckCount               -- 트럭별 배치 수
+ * 트럭마다 열(column) 단위로:
+ *   Δ(type << 1 | rotated) × n, Δx × n, Δy × n          -- 같은 트럭 안 이전 값과의 차이 (zigzag varint)
+ * </pre>
+ * 같은 종류가 이어지고 좌표가 가까운 배치가 많아 차이 값은 대부분 1바이트에 들어간다.
+ * 배치는 트럭 순서로 묶이며 트럭 안에서는 원래 순서를 유지한다. 배치의 가로/세로는 종류 크기와 회전 여부로 복원되므로 저장하지 않는다.
+ * 이전 형식(version 1: 배치마다 type, x, y, truck 행 단위)도 읽을 수 있다.
+ */
+public final class PackingLayoutCodec {
+
+    static final int VERSION_1 = 1;
+    static final int VERSION_2 = 2;
+
+    /** 디코딩 결과: 인코딩 당시의 아이템 종류 크기/수량과 배치 */
+    public record Decoded(int[] widths, int[] heights, int[] quantities, PackingLayout layout) {}
+
+    private PackingLayoutCodec() {}
+
+    public static byte[] encode(PackingInstance instance, PackingLayout layout) {
+        Writer out = new Writer(16 + instance.typeCount() * 9 + layout.truckCount() * 2 + layout.size() * 3);
+        out.writeByte(VERSION_2);
+        out.writeVarInt(instance.typeCount());
+        for (int t = 0; t < instance.typeCount(); t++) {
+            out.writeVarInt(instance.widths()[t]);
+            out.writeVarInt(instance.heights()[t]);
+            out.writeVarInt(instance.quantities()[t]);
+        }
+
+        // 트럭별로 배치 인덱스를 묶는다 (트럭 안에서는 원래 순서)
+        int trucks = layout.truckCount();
+        int[] start = new int[trucks + 1];
+        for (int i = 0; i < layout.size(); i++) start[layout.truck(i) + 1]++;
+        for (int k = 0; k < trucks; k++) start[k + 1] += start[k];
+        int[] order = new int[layout.size()];
+        int[] next = Arrays.copyOf(start, trucks);
+        for (int i = 0; i < layout.size(); i++) order[next[layout.truck(i)]++] = i;
+
+        out.writeVarInt(trucks);
+        for (int k = 0; k < trucks; k++) out.writeVarInt(start[k + 1] - start[k]);
+        for (int k = 0; k < trucks; k++) {
+            int prev = 0;
+            for (int j = start[k]; j < start[k + 1]; j++) {
+                int i = order[j];
+                int typeAndRotation = layout.type(i) << 1 | (layout.rotated(i) ? 1 : 0);
+                out.writeZigZag(typeAndRotation - prev);
+                prev = typeAndRotation;
+            }
+            prev = 0;
+            for (int j = start[k]; j < start[k + 1]; j++) {
+                out.writeZigZag(layout.x(order[j]) - prev);
+                prev = layout.x(order[j]);
+            }
+            prev = 0;
+            for (int j = start[k]; j < start[k + 1]; j++) {
+                out.writeZigZag(layout.y(order[j]) - prev);
+                prev = layout.y(order[j]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static Decoded decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.readByte();
+        if (version != VERSION_1 && version != VERSION_2) {
+            throw new IllegalArgumentException("지원하지 않는 레이아웃 형식입니다: " + version);
+        }
+        int typeCount = in.readVarInt();
+        int[] widths = new int[typeCount];
+        int[] heights = new int[typeCount];
+        int[] quantities = new int[typeCount];
+        for (int t = 0; t < typeCount; t++) {
+            widths[t] = in.readVarInt();
+            heights[t] = in.readVarInt();
+            quantities[t] = in.readVarInt();
+        }
+        if (version == VERSION_2) {
+            return new Decoded(widths, heights, quantities, decodeColumns(in, widths, heights));
+        }
+        in.readVarInt(); // truckCount: 배치로부터 다시 계산된다
+        int size = in.readVarInt();
+        PackingLayout layout = new PackingLayout(size);
+        for (int i = 0; i < size; i++) {
+            int typeAndRotation = in.readVarInt();
+            int type = typeAndRotation >>> 1;
+            boolean rotated = (typeAndRotation & 1) == 1;
+            int x = in.readVarInt();
+            int y = in.readVarInt();
+            int truck = in.readVarInt();
+            layout.place(type, x, y,
+                    rotated ? heights[type] : widths[type],
+                    rotated ? widths[type] : heights[type],
+                    rotated, truck);
+        }
+        return new Decoded(widths, heights, quantities, layout);
+    }
+
+    private static PackingLayout decodeColumns(Reader in, int[] widths, int[] heights) {
+        int trucks = in.readVarInt();
+        int[] counts = new int[trucks];
+        long size = 0;
+        for (int k = 0; k < trucks; k++) {
+            counts[k] = in.readVarInt();
+            size += counts[k];
+        }
+        if (size > in.remaining()) throw new IllegalArgumentException("레이아웃 데이터가 손상되었습니다");
+        PackingLayout layout = new PackingLayout((int) size);
+        int[] typeAndRotation = new int[0];
+        int[] xs = new int[0];
+        for (int k = 0; k < trucks; k++) {
+            int n = counts[k];
+            if (typeAndRotation.length < n) {
+                typeAndRotation = new int[n];
+                xs = new int[n];
+            }
+            int prev = 0;
+            for (int j = 0; j < n; j++) {
+                prev += in.readZigZag();
+                typeAndRotation[j] = prev;
+            }
+            prev = 0;
+            for (int j = 0; j < n; j++) {
+                prev += in.readZigZag();
+                xs[j] = prev;
+            }
+            prev = 0;
+            for (int j = 0; j < n; j++) {
+                prev += in.readZigZag();
+                int type = typeAndRotation[j] >>> 1;
+                if (type >= widths.length) throw new IllegalArgumentException("레이아웃 데이터가 손상되었습니다");
+                boolean rotated = (typeAndRotation[j] & 1) == 1;
+                layout.place(type, xs[j], prev,
+                        rotated ? heights[type] : widths[type],
+                        rotated ? widths[type] : heights[type],
+                        rotated, k);
+            }
+        }
+        return layout;
+    }
+
+    static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[Math.max(16, capacity)];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        /** 음수가 아닌 정수를 7비트 단위 가변 길이로 기록 */
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        /** 부호 있는 정수를 zigzag(0, -1, 1, -2, ... → 0, 1, 2, 3, ...)로 바꿔 varint로 기록 */
+        void writeZigZag(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            if (pos >= buf.length) throw new IllegalArgumentException("레이아웃 데이터가 손상되었습니다");
+            return buf[pos++] & 0xFF;
+        }
+
+        int remaining() {
+            return buf.length - pos;
+        }
+
+        int readZigZag() {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("레이아웃 데이터가 손상되었습니다");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 적재 계산 방식. POST /api/scenarios/{id}/pack?mode=... 로 요청마다 선택한다.
+ */
+public enum PackingMode {
+    /** 면적 내림차순 단일 패스. 엔진은 {@link PackingEngine}으로 고르며 MAXRECTS는 packing.ts와 같은 방식 */
+    GREEDY,
+    /** 여러 휴리스틱을 병렬로 돌려 트럭 수가 가장 적은 결과 선택 */
+    RACE,
+    /** 같은 아이템을 격자 블록 단위로 배치 (수량이 많은 시나리오용, 연산량이 종류 수에 비례) */
+    BLOCK,
+    /**
+     * 분기 한정으로 최소 트럭 수를 찾는다 (아이템 수가 적은 시나리오용, 노드/시간 예산이나 packing.exact.max-units를 넘으면
+     * 휴리스틱 결과)
+     */
+    EXACT,
+    /** 트럭 한 대 적재 패턴을 만들어 반복 사용 (종류가 적고 수량이 많은 시나리오용, 종류 수는 packing.pattern.max-types 이하) */
+    PATTERN,
+    /** 이전에 저장된 적재 결과에서 바뀐 아이템이 있는 트럭만 다시 계산 (저장된 결과가 없으면 GREEDY) */
+    INCREMENTAL,
+    /** 전체 수량이 packing.exact.auto-threshold 이하면 EXACT, 아니면 GREEDY */
+    AUTO,
+    /**
+     * 수십만 개 이상 대규모용. packing.scale.memory-budget-mb 안에 전체 배치가 들어가면 MaxRects, 넘으면 Skyline으로
+     * 트럭 단위로 내보내며 계산 (/pack, /pack-stream에서만 가능)
+     */
+    SCALE
+}
@@ -0,0 +1,324 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "packing")
+public class PackingProperties {
+    /** 병렬 패킹에 사용할 스레드 수 (0이면 CPU 코어 수) */
+    private int parallelism = 0;
+
+    /** engine=AUTO일 때 전체 수량이 이 값을 넘으면 MaxRects 대신 Skyline 엔진을 사용 */
+    private int autoSkylineThreshold = 5000;
+
+    private final Cache cache = new Cache();
+
+    private final Optimize optimize = new Optimize();
+
+    private final Jobs jobs = new Jobs();
+
+    private final Fleet fleet = new Fleet();
+
+    private final Exact exact = new Exact();
+
+    private final Pattern pattern = new Pattern();
+
+    private final Incremental incremental = new Incremental();
+
+    private final Render render = new Render();
+
+    private final Scale scale = new Scale();
+
+    /** 트럭 크기 비교(sweep) 요청 한 번에 계산할 수 있는 최대 후보 수 (가로 수 × 세로 수) */
+    private int sweepMaxCandidates = 400;
+
+    /** 일괄 적재 계산 요청 한 번에 처리할 수 있는 최대 시나리오 수 */
+    private int batchMaxScenarios = 100;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getAutoSkylineThreshold() {
+        return autoSkylineThreshold;
+    }
+
+    public void setAutoSkylineThreshold(int autoSkylineThreshold) {
+        this.autoSkylineThreshold = autoSkylineThreshold;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Optimize getOptimize() {
+        return optimize;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public int getSweepMaxCandidates() {
+        return sweepMaxCandidates;
+    }
+
+    public void setSweepMaxCandidates(int sweepMaxCandidates) {
+        this.sweepMaxCandidates = sweepMaxCandidates;
+    }
+
+    public int getBatchMaxScenarios() {
+        return batchMaxScenarios;
+    }
+
+    public void setBatchMaxScenarios(int batchMaxScenarios) {
+        this.batchMaxScenarios = batchMaxScenarios;
+    }
+
+    public Fleet getFleet() {
+        return fleet;
+    }
+
+    public Exact getExact() {
+        return exact;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public Incremental getIncremental() {
+        return incremental;
+    }
+
+    public Render getRender() {
+        return render;
+    }
+
+    public Scale getScale() {
+        return scale;
+    }
+
+    public static class Cache {
+        /** 캐시에 보관할 최대 결과 수 (0이면 캐시 사용 안 함) */
+        private int maxEntries = 256;
+        /** 캐시된 결과들의 배치 수 합계 상한 (메모리 사용량 제한) */
+        private long maxPlacements = 2_000_000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getMaxPlacements() {
+            return maxPlacements;
+        }
+
+        public void setMaxPlacements(long maxPlacements) {
+            this.maxPlacements = maxPlacements;
+        }
+    }
+
+    public static class Optimize {
+        /** deadlineMs를 지정하지 않았을 때의 최적화 시간 */
+        private long defaultDeadlineMs = 3000;
+        /** 요청할 수 있는 최대 최적화 시간 */
+        private long maxDeadlineMs = 10000;
+        /** 동시에 실행할 수 있는 최적화 작업 수 (초과 요청은 429) */
+        private int maxConcurrent = 2;
+
+        public long getDefaultDeadlineMs() {
+            return defaultDeadlineMs;
+        }
+
+        public void setDefaultDeadlineMs(long defaultDeadlineMs) {
+            this.defaultDeadlineMs = defaultDeadlineMs;
+        }
+
+        public long getMaxDeadlineMs() {
+            return maxDeadlineMs;
+        }
+
+        public void setMaxDeadlineMs(long maxDeadlineMs) {
+            this.maxDeadlineMs = maxDeadlineMs;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    public static class Jobs {
+        /** 동시에 계산하는 비동기 작업 수 (0이면 CPU 코어 수의 절반) */
+        private int maxConcurrent = 0;
+        /** 사용자별로 끝나지 않은(대기+실행) 작업 수 한도 */
+        private int maxPerUser = 3;
+        /** 끝난 작업의 결과 보관 시간(초) */
+        private long resultTtlSeconds = 600;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxPerUser() {
+            return maxPerUser;
+        }
+
+        public void setMaxPerUser(int maxPerUser) {
+            this.maxPerUser = maxPerUser;
+        }
+
+        public long getResultTtlSeconds() {
+            return resultTtlSeconds;
+        }
+
+        public void setResultTtlSeconds(long resultTtlSeconds) {
+            this.resultTtlSeconds = resultTtlSeconds;
+        }
+    }
+
+    public static class Fleet {
+        /** 혼합 차량 빔 탐색에서 단계마다 남길 후보 수 (클수록 느리지만 비용이 낮아질 수 있음) */
+        private int beamWidth = 8;
+
+        public int getBeamWidth() {
+            return beamWidth;
+        }
+
+        public void setBeamWidth(int beamWidth) {
+            this.beamWidth = beamWidth;
+        }
+    }
+
+    public static class Exact {
+        /** mode=AUTO일 때 전체 수량이 이 값 이하면 정확 해법(EXACT)을 사용 */
+        private int autoThreshold = 20;
+        /** 분기 한정 탐색 노드 수 상한 */
+        private long nodeLimit = 5_000_000;
+        /** 분기 한정 탐색 시간 상한 */
+        private long timeLimitMs = 3000;
+        /** mode=EXACT로 탐색할 최대 전체 수량 (넘으면 휴리스틱 결과를 그대로 사용) */
+        private int maxUnits = 2000;
+
+        public int getAutoThreshold() {
+            return autoThreshold;
+        }
+
+        public void setAutoThreshold(int autoThreshold) {
+            this.autoThreshold = autoThreshold;
+        }
+
+        public long getNodeLimit() {
+            return nodeLimit;
+        }
+
+        public void setNodeLimit(long nodeLimit) {
+            this.nodeLimit = nodeLimit;
+        }
+
+        public long getTimeLimitMs() {
+            return timeLimitMs;
+        }
+
+        public void setTimeLimitMs(long timeLimitMs) {
+            this.timeLimitMs = timeLimitMs;
+        }
+
+        public int getMaxUnits() {
+            return maxUnits;
+        }
+
+        public void setMaxUnits(int maxUnits) {
+            this.maxUnits = maxUnits;
+        }
+    }
+
+    public static class Pattern {
+        /** PATTERN 모드를 허용하는 최대 아이템 종류 수 (넘으면 400). 패턴 생성/비교 비용이 종류 수에 따라 크게 늘어난다 */
+        private int maxTypes = 40;
+        /** 패턴 비교(rollout) 시간 상한. 넘기면 남은 단계는 비교 없이 첫 후보로 채운다 */
+        private long timeLimitMs = 2000;
+
+        public int getMaxTypes() {
+            return maxTypes;
+        }
+
+        public void setMaxTypes(int maxTypes) {
+            this.maxTypes = maxTypes;
+        }
+
+        public long getTimeLimitMs() {
+            return timeLimitMs;
+        }
+
+        public void setTimeLimitMs(long timeLimitMs) {
+            this.timeLimitMs = timeLimitMs;
+        }
+    }
+
+    public static class Incremental {
+        /** 부분 재계산 결과의 gap이 이전 결과의 gap보다 이만큼 넘게 커지면 전체를 다시 계산 (0.05 = 하한의 5%) */
+        private double maxGapIncrease = 0.05;
+
+        public double getMaxGapIncrease() {
+            return maxGapIncrease;
+        }
+
+        public void setMaxGapIncrease(double maxGapIncrease) {
+            this.maxGapIncrease = maxGapIncrease;
+        }
+    }
+
+    public static class Render {
+        /** 렌더링한 이미지 캐시의 바이트 합계 상한 (LRU) */
+        private long cacheMaxBytes = 32L * 1024 * 1024;
+
+        /** 렌더링할 수 있는 최대 이미지 크기 (가로 × 세로 픽셀) */
+        private long maxPixels = 16_000_000;
+
+        public long getCacheMaxBytes() {
+            return cacheMaxBytes;
+        }
+
+        public void setCacheMaxBytes(long cacheMaxBytes) {
+            this.cacheMaxBytes = cacheMaxBytes;
+        }
+
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+    }
+
+    public static class Scale {
+        /** 대규모 패킹(mode=SCALE) 한 번이 쓸 수 있는 메모리 추정치 상한. 전체 배치가 넘으면 트럭 단위로 내보낸다 */
+        private long memoryBudgetMb = 256;
+
+        public long getMemoryBudgetMb() {
+            return memoryBudgetMb;
+        }
+
+        public void setMemoryBudgetMb(long memoryBudgetMb) {
+            this.memoryBudgetMb = memoryBudgetMb;
+        }
+    }
+}
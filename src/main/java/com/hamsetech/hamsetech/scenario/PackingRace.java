@@ -0,0 +1,56 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 여러 휴리스틱(배치 규칙 × 정렬 기준)을 병렬로 돌려 가장 좋은 결과를 고른다.
+ * 정렬된 배치 순서는 정렬 기준별로 한 번만 만들고 모든 규칙이 읽기 전용으로 공유한다.
+ */
+final class PackingRace {
+
+    private final ForkJoinPool pool;
+
+    PackingRace(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    PackingResult run(PackingInstance instance, List<PackingHeuristic> candidates) {
+        Map<SortOrder, int[]> sequences = new EnumMap<>(SortOrder.class);
+        for (PackingHeuristic h : candidates) {
+            sequences.computeIfAbsent(h.order(), instance::unitSequence);
+        }
+
+        List<Callable<PackingResult>> tasks = new ArrayList<>(candidates.size());
+        for (PackingHeuristic h : candidates) {
+            int[] sequence = sequences.get(h.order());
+            tasks.add(() -> new PackingResult(new MaxRectsPacker(instance, h.rule()).pack(sequence), h.label()));
+        }
+
+        // 후보 순서대로 비교하므로 동점이면 앞선 후보(기본 휴리스틱)가 이긴다
+        PackingResult best = null;
+        for (Future<PackingResult> future : pool.invokeAll(tasks)) {
+            PackingResult result = await(future);
+            if (result.isBetterThan(best)) best = result;
+        }
+        return best;
+    }
+
+    private static PackingResult await(Future<PackingResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("패킹이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("패킹 중 오류가 발생했습니다", e.getCause());
+        }
+    }
+}
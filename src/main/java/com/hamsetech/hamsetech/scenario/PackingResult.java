@@ -0,0 +1,23 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 패킹 결과와 그 결과를 만든 전략(엔진/휴리스틱) 이름.
+ * provenOptimal은 정확 해법(EXACT)이 트럭 수가 최소임을 증명한 경우 true다.
+ */
+public record PackingResult(PackingLayout layout, String strategy, boolean provenOptimal) {
+
+    public PackingResult(PackingLayout layout, String strategy) {
+        this(layout, strategy, false);
+    }
+
+    /**
+     * 트럭 수가 적을수록, 같으면 마지막 트럭에 남은 짐이 적을수록(앞 트럭들의 적재율이 높을수록) 좋은 결과다.
+     */
+    public boolean isBetterThan(PackingResult other) {
+        if (other == null) return true;
+        int trucks = layout.truckCount();
+        int otherTrucks = other.layout.truckCount();
+        if (trucks != otherTrucks) return trucks < otherTrucks;
+        return layout.truckArea(trucks - 1) < other.layout.truckArea(otherTrucks - 1);
+    }
+}
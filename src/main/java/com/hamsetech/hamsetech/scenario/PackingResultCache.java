@@ -0,0 +1,99 @@
+package com.hamsetech.hamsetech.scenario;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 기하 정보 해시({@link PackingInstance#geometryKey()})를 키로 하는 패킹 결과 캐시.
+ * 내용 기반 키이므로 기하 정보가 같은 시나리오는 항목 하나를 공유하고, 시나리오 수정으로 기하 정보가 바뀌면
+ * 새 키로 조회되어 이전 항목은 더 이상 쓰이지 않다가 LRU로 밀려난다.
+ * 항목 수와 전체 배치 수(메모리 사용량 근사치) 두 기준으로 크기를 제한한다.
+ */
+@Component
+public class PackingResultCache {
+
+    public record Stats(int entries, long placements, long hits, long misses, long evictions, double hitRate) {}
+
+    private final int maxEntries;
+    private final long maxPlacements;
+
+    // accessOrder=true: 조회할 때마다 가장 최근 항목으로 이동 (LRU)
+    private final LinkedHashMap<String, PackingResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long placements;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PackingResultCache(PackingProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.getCache().getMaxEntries();
+        this.maxPlacements = properties.getCache().getMaxPlacements();
+
+        FunctionCounter.builder("packing.cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("packing.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("packing.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("packing.cache.entries", this, c -> c.stats().entries()).register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 결과를 돌려주고, 없으면 계산해서 저장한다.
+     * 계산은 잠금 밖에서 수행하므로 같은 키를 동시에 계산할 수 있지만 결과는 같으므로 나중 값으로 덮어쓴다.
+     */
+    public PackingResult get(String key, Supplier<PackingResult> loader) {
+        PackingResult cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        PackingResult computed = loader.get();
+        put(key, computed);
+        return computed;
+    }
+
+    private synchronized void put(String key, PackingResult result) {
+        if (maxEntries <= 0 || result.layout().size() > maxPlacements) return;
+
+        PackingResult previous = entries.put(key, result);
+        if (previous != null) placements -= previous.layout().size();
+        placements += result.layout().size();
+
+        Iterator<Map.Entry<String, PackingResult>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || placements > maxPlacements) && it.hasNext()) {
+            Map.Entry<String, PackingResult> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            placements -= eldest.getValue().layout().size();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        placements = 0;
+    }
+
+    public Stats stats() {
+        int size;
+        long placed;
+        synchronized (this) {
+            size = entries.size();
+            placed = placements;
+        }
+        long h = hits.get();
+        long m = misses.get();
+        return new Stats(size, placed, h, m, evictions.get(), h + m == 0 ? 0 : (double) h / (h + m));
+    }
+}
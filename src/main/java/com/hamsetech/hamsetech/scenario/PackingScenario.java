@@ -6,10 +6,15 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "packing_scenarios")
+@Table(name = "packing_scenarios", indexes = {
+        // 목록 키셋 페이지 (user_id, updated_at DESC, id DESC)
+        @Index(name = "idx_packing_scenarios_user_updated", columnList = "user_id, updated_at, id")
+        // 목록 트럭 수 정렬은 COALESCE(packed_truck_count, 0) 식 인덱스를 쓴다 (SchemaFixer)
+})
 public class PackingScenario {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,9 +45,28 @@ public class PackingScenario {
     @OneToMany(mappedBy = "scenario", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PackingItem> items;
 
+    // 비어 있으면 truckWidth × truckHeight 한 종류만 사용
+    @OneToMany(mappedBy = "scenario", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<PackingTruckType> truckTypes = new ArrayList<>();
+
     @Column(name = "is_favorite", nullable = false)
     private Boolean isFavorite = false;
 
+    // 목록용 적재 통계 (ScenarioStatsService가 저장 후 비동기로 갱신, 아이템이 트럭에 들어가지 않으면 null)
+    @Column(name = "packed_truck_count")
+    private Integer packedTruckCount;
+
+    @Column(name = "packed_utilization")
+    private Double packedUtilization;
+
+    @Column(name = "packed_lower_bound")
+    private Integer packedLowerBound;
+
+    // 통계를 계산한 기하 정보 해시 (현재 해시와 다르면 갱신 대기 중)
+    @Column(name = "stats_geometry_key", length = 64)
+    private String statsGeometryKey;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -134,6 +158,14 @@ public class PackingScenario {
         this.items = items;
     }
 
+    public List<PackingTruckType> getTruckTypes() {
+        return truckTypes;
+    }
+
+    public void setTruckTypes(List<PackingTruckType> truckTypes) {
+        this.truckTypes = truckTypes;
+    }
+
     public Boolean getIsFavorite() {
         return isFavorite;
     }
@@ -157,4 +189,20 @@ public class PackingScenario {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Integer getPackedTruckCount() {
+        return packedTruckCount;
+    }
+
+    public Double getPackedUtilization() {
+        return packedUtilization;
+    }
+
+    public Integer getPackedLowerBound() {
+        return packedLowerBound;
+    }
+
+    public String getStatsGeometryKey() {
+        return statsGeometryKey;
+    }
 }
@@ -2,20 +2,56 @@ package com.hamsetech.hamsetech.scenario;
 
 import com.hamsetech.hamsetech.admin.AdminLog;
 import com.hamsetech.hamsetech.admin.AdminLoggable;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hamsetech.hamsetech.user.UserAccountRepository;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,12 +60,50 @@ public class PackingScenarioController {
 
     private static final Logger logger = LoggerFactory.getLogger(PackingScenarioController.class);
 
+    // 적재 이미지 패널 너비(px)와 한 줄 트럭 수 범위
+    private static final int MIN_RENDER_WIDTH = 120;
+    private static final int MAX_RENDER_WIDTH = 2000;
+    private static final int MAX_RENDER_COLUMNS = 8;
+
+    // 압축 레이아웃 응답 (Accept로 선택): 코덱 바이트 그대로 / JSON 안에 base64
+    static final MediaType LAYOUT_BINARY = MediaType.parseMediaType("application/vnd.hamsetech.layout");
+    static final MediaType LAYOUT_JSON = MediaType.parseMediaType("application/vnd.hamsetech.layout+json");
+
+    // 요약 목록 한 페이지 최대 크기
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
+    // 키셋 커서의 시작값 (가장 최근보다 뒤)
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final PackingScenarioRepository scenarioRepository;
     private final UserAccountRepository userRepository;
+    private final PackingService packingService;
+    private final ScenarioLayoutService layoutService;
+    private final ExecutorService optimizerExecutor;
+    private final PackingProperties packingProperties;
+    private final PackingJobService jobService;
+    private final ForkJoinPool packingPool;
+    private final ObjectMapper objectMapper;
+    private final ScenarioStatsService statsService;
+    private final LayoutRenderService renderService;
 
-    public PackingScenarioController(PackingScenarioRepository scenarioRepository, UserAccountRepository userRepository) {
+    public PackingScenarioController(PackingScenarioRepository scenarioRepository, UserAccountRepository userRepository,
+                                     PackingService packingService, ScenarioLayoutService layoutService,
+                                     @Qualifier("packingOptimizerExecutor") ExecutorService optimizerExecutor,
+                                     PackingProperties packingProperties, PackingJobService jobService,
+                                     ForkJoinPool packingPool, ObjectMapper objectMapper, ScenarioStatsService statsService,
+                                     LayoutRenderService renderService) {
         this.scenarioRepository = scenarioRepository;
         this.userRepository = userRepository;
+        this.packingService = packingService;
+        this.layoutService = layoutService;
+        this.optimizerExecutor = optimizerExecutor;
+        this.packingProperties = packingProperties;
+        this.jobService = jobService;
+        this.packingPool = packingPool;
+        this.objectMapper = objectMapper;
+        this.statsService = statsService;
+        this.renderService = renderService;
     }
 
     public record CreateScenarioRequest(
@@ -39,16 +113,43 @@ public class PackingScenarioController {
             @NotNull(message = "트럭 세로 크기를 입력해주세요") @Positive(message = "트럭 세로 크기는 양수여야 합니다") Integer truckHeight,
             Boolean allowRotate,
             Integer margin,
-            @NotNull(message = "아이템 목록을 입력해주세요") List<ItemRequest> items
+            @NotNull(message = "아이템 목록을 입력해주세요") List<ItemRequest> items,
+            @Valid List<TruckTypeRequest> truckTypes
     ) {}
 
+    // id: 수정 시 기존 아이템 ID (없으면 새 아이템)
     public record ItemRequest(
+            Long id,
             @NotBlank(message = "아이템 이름을 입력해주세요") String name,
             @NotNull(message = "아이템 가로 크기를 입력해주세요") @Positive(message = "아이템 가로 크기는 양수여야 합니다") Integer width,
             @NotNull(message = "아이템 세로 크기를 입력해주세요") @Positive(message = "아이템 세로 크기는 양수여야 합니다") Integer height,
             @NotNull(message = "아이템 수량을 입력해주세요") @Positive(message = "아이템 수량은 양수여야 합니다") Integer quantity
     ) {}
 
+    // 혼합 차량 트럭 종류 (availableCount가 없으면 대수 제한 없음)
+    public record TruckTypeRequest(
+            @NotBlank(message = "트럭 종류 이름을 입력해주세요") String name,
+            @NotNull(message = "트럭 가로 크기를 입력해주세요") @Positive(message = "트럭 가로 크기는 양수여야 합니다") Integer width,
+            @NotNull(message = "트럭 세로 크기를 입력해주세요") @Positive(message = "트럭 세로 크기는 양수여야 합니다") Integer height,
+            @NotNull(message = "트럭 비용을 입력해주세요") @PositiveOrZero(message = "트럭 비용은 0 이상이어야 합니다") Long cost,
+            @PositiveOrZero(message = "가용 대수는 0 이상이어야 합니다") Integer availableCount
+    ) {}
+
+    // 트럭 크기 비교: widths × heights 격자의 모든 크기로 패킹
+    public record SweepRequest(
+            @NotEmpty(message = "트럭 가로 크기 후보를 입력해주세요") List<@NotNull @Positive Integer> widths,
+            @NotEmpty(message = "트럭 세로 크기 후보를 입력해주세요") List<@NotNull @Positive Integer> heights,
+            PackingEngine engine
+    ) {}
+
+    // 일괄 적재 계산: ids 또는 favorites=true(즐겨찾기 전체) 중 하나
+    public record BatchPackRequest(
+            List<Long> ids,
+            Boolean favorites,
+            PackingMode mode,
+            PackingEngine engine
+    ) {}
+
     public record UpdateScenarioRequest(
             @NotBlank(message = "시나리오 이름을 입력해주세요") String name,
             String description,
@@ -56,7 +157,8 @@ public class PackingScenarioController {
             @NotNull(message = "트럭 세로 크기를 입력해주세요") @Positive(message = "트럭 세로 크기는 양수여야 합니다") Integer truckHeight,
             Boolean allowRotate,
             Integer margin,
-            @NotNull(message = "아이템 목록을 입력해주세요") List<ItemRequest> items
+            @NotNull(message = "아이템 목록을 입력해주세요") List<ItemRequest> items,
+            @Valid List<TruckTypeRequest> truckTypes
     ) {}
 
     public record ScenarioResponse(
@@ -68,9 +170,14 @@ public class PackingScenarioController {
             Boolean allowRotate,
             Integer margin,
             Boolean isFavorite,
+            Integer packedTruckCount,
+            Double packedUtilization,
+            Integer packedLowerBound,
             String createdAt,
             String updatedAt,
-            List<ItemResponse> items
+            List<ItemResponse> items,
+            List<TruckTypeResponse> truckTypes,
+            PackResponse layout
     ) {}
 
     public record ItemResponse(
@@ -81,6 +188,117 @@ public class PackingScenarioController {
             Integer quantity
     ) {}
 
+    public record TruckTypeResponse(
+            Long id,
+            String name,
+            Integer width,
+            Integer height,
+            Long cost,
+            Integer availableCount
+    ) {}
+
+    // 혼합 차량 패킹 결과: 트럭마다 종류와 비용, 배치 (좌표는 각 트럭 기준)
+    public record FleetPackResponse(
+            long totalCost,
+            int count,
+            List<FleetTruckResponse> trucks
+    ) {}
+
+    public record FleetTruckResponse(
+            Long truckTypeId,
+            String name,
+            int width,
+            int height,
+            long cost,
+            double utilization,
+            List<PlacedResponse> items
+    ) {}
+
+    // frontend/src/utils/packing.ts의 PackResult / Placed와 같은 구조 (strategy: 결과를 만든 휴리스틱)
+    // lowerBound: 필요한 트럭 수의 하한, gap: (count - lowerBound) / lowerBound (0이면 최적)
+    // provenOptimal: 하한 도달 또는 정확 해법으로 트럭 수가 최소임이 증명됨
+    public record PackResponse(
+            int count,
+            double utilization,
+            String strategy,
+            int lowerBound,
+            double gap,
+            boolean provenOptimal,
+            List<List<PlacedResponse>> trucks
+    ) {}
+
+    // 요약 목록 한 페이지. nextCursor가 null이면 마지막 페이지
+    public record ScenarioSummaryPage(
+            List<ScenarioSummary> items,
+            String nextCursor
+    ) {}
+
+    // 압축 레이아웃 응답 (Accept: application/vnd.hamsetech.layout+json)
+    // layout: PackingLayoutCodec 바이트의 base64, itemIds: 코덱의 종류 인덱스별 아이템 ID
+    public record CompactPackResponse(
+            int count,
+            double utilization,
+            String strategy,
+            int lowerBound,
+            double gap,
+            boolean provenOptimal,
+            List<Long> itemIds,
+            String layout
+    ) {}
+
+    // 최적화 종료 이벤트: 최종 트럭 수와 하한, 하한 도달(최적 증명) 여부
+    public record OptimizeDoneResponse(
+            int count,
+            int lowerBound,
+            boolean provenOptimal
+    ) {}
+
+    // 트럭 단위 스트리밍 적재 계산 (NDJSON): start 한 줄, 트럭마다 truck 한 줄, 마지막에 done (실패하면 error)
+    public record PackStreamStart(String type, int binWidth, int binHeight, int lowerBound) {}
+
+    public record PackStreamTruck(String type, int truck, List<PlacedResponse> placements) {}
+
+    public record PackStreamDone(
+            String type,
+            int count,
+            double utilization,
+            String strategy,
+            int lowerBound,
+            double gap,
+            boolean provenOptimal
+    ) {}
+
+    public record PackStreamError(String type, String error) {}
+
+    // 일괄 적재 계산 결과 한 줄 (NDJSON). 실패하면 result 대신 error
+    public record BatchPackLine(
+            Long scenarioId,
+            String name,
+            PackResponse result,
+            String error
+    ) {}
+
+    // 비동기 적재 작업 상태 (result는 SUCCEEDED일 때만)
+    public record PackJobResponse(
+            String id,
+            Long scenarioId,
+            PackingJob.Status status,
+            String createdAt,
+            String finishedAt,
+            String error,
+            PackResponse result
+    ) {}
+
+    public record PlacedResponse(
+            Long id,
+            int x,
+            int y,
+            int w,
+            int h,
+            boolean rotated,
+            int truck
+    ) {}
+
     @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 전체 목록 조회")
     @GetMapping
     public ResponseEntity<List<ScenarioResponse>> getAllScenarios() {
@@ -144,6 +362,78 @@ public class PackingScenarioController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * 목록용 시나리오 요약 (아이템 종류 수/총 수량/적재 통계 포함, 아이템 목록 제외). 키셋 페이지이며
+     * 다음 페이지는 응답의 nextCursor를 cursor로 넘겨 조회한다.
+     * sort=updated(기본)는 수정 시각, sort=trucks는 트럭 수 내림차순이다.
+     * minTrucks(트럭 수 이상), maxUtilization(적재율 이하)로 거를 수 있으며 통계가 아직 없는 시나리오는 필터에서 빠진다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 요약 목록 조회")
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getScenarioSummaries(@RequestParam(name = "favorites", defaultValue = "false") boolean favorites,
+                                                  @RequestParam(name = "q", required = false) String q,
+                                                  @RequestParam(name = "sort", defaultValue = "updated") String sort,
+                                                  @RequestParam(name = "minTrucks", defaultValue = "0") int minTrucks,
+                                                  @RequestParam(name = "maxUtilization", defaultValue = "1") double maxUtilization,
+                                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "20") int size) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        if (size < 1 || size > MAX_SUMMARY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "size는 1 이상 " + MAX_SUMMARY_PAGE_SIZE + " 이하여야 합니다"));
+        }
+
+        boolean byTrucks = "trucks".equals(sort);
+        if (!byTrucks && !"updated".equals(sort)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "sort는 updated 또는 trucks여야 합니다"));
+        }
+
+        // 커서: "<정렬 키>_<id>" (정렬 키는 수정 시각 또는 트럭 수)
+        String cursorKey = null;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                cursorKey = cursor.substring(0, separator);
+                cursorId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "cursor 형식이 올바르지 않습니다"));
+            }
+        }
+
+        // 한 건 더 읽어 다음 페이지가 있는지 확인한다
+        String query = q != null ? q : "";
+        Limit limit = Limit.of(size + 1);
+        List<ScenarioSummary> rows;
+        try {
+            rows = byTrucks
+                    ? scenarioRepository.findSummariesByTruckCount(user, favorites, query, minTrucks, maxUtilization,
+                            cursorKey != null ? Integer.parseInt(cursorKey) : Integer.MAX_VALUE, cursorId, limit)
+                    : scenarioRepository.findSummaries(user, favorites, query, minTrucks, maxUtilization,
+                            cursorKey != null ? LocalDateTime.parse(cursorKey) : CURSOR_START, cursorId, limit);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "cursor 형식이 올바르지 않습니다"));
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ScenarioSummary last = rows.get(size - 1);
+            Object key = byTrucks
+                    ? (last.packedTruckCount() != null ? last.packedTruckCount() : 0)
+                    : last.updatedAt();
+            nextCursor = key + "_" + last.id();
+        }
+        return ResponseEntity.ok(new ScenarioSummaryPage(rows, nextCursor));
+    }
+
     @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 상세 조회")
     @GetMapping("/{id}")
     public ResponseEntity<ScenarioResponse> getScenario(@PathVariable("id") @NonNull Long id) {
@@ -166,7 +456,18 @@ public class PackingScenarioController {
             return ResponseEntity.status(403).body(null);
         }
 
-        return ResponseEntity.ok(convertToResponse(scenario));
+        // 저장된 적재 결과가 현재 기하 정보와 맞으면 다시 계산하지 않고 함께 내려준다
+        PackResponse layout = null;
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            layout = layoutService.find(id, instance, null, null)
+                    .map(result -> convertToPackResponse(instance, result))
+                    .orElse(null);
+        } catch (IllegalArgumentException e) {
+            logger.warn("저장된 적재 결과를 불러올 수 없음 - ID: {}, 오류: {}", id, e.getMessage());
+        }
+
+        return ResponseEntity.ok(convertToResponse(scenario, layout));
     }
 
     @AdminLoggable(action = AdminLog.Action.CREATE, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 생성")
@@ -209,8 +510,14 @@ public class PackingScenarioController {
                 })
                 .collect(Collectors.toList());
         scenario.setItems(items);
+        if (request.truckTypes() != null) {
+            for (var truckTypeRequest : request.truckTypes()) {
+                scenario.getTruckTypes().add(toTruckType(scenario, truckTypeRequest));
+            }
+        }
 
         PackingScenario savedScenario = scenarioRepository.save(scenario);
+        statsService.refreshAfterCommit(savedScenario.getId());
         return ResponseEntity.ok(convertToResponse(savedScenario));
     }
 
@@ -250,35 +557,47 @@ public class PackingScenarioController {
                 return ResponseEntity.badRequest().body(null);
             }
 
+            PackingInstance before = PackingInstance.of(scenario);
+
             scenario.setName(request.name());
             scenario.setDescription(request.description());
             scenario.setTruckWidth(request.truckWidth());
             scenario.setTruckHeight(request.truckHeight());
             scenario.setAllowRotate(request.allowRotate() != null ? request.allowRotate() : true);
             scenario.setMargin(request.margin() != null ? request.margin() : 0);
+            // 메모리 결과 캐시는 기하 정보 해시가 키이므로 따로 무효화하지 않아도 다음 계산은 새 키로 조회된다
 
             logger.info("시나리오 기본 정보 업데이트 완료 - 아이템 수: {}", request.items().size());
 
-            // 기존 아이템들을 모두 삭제하고 새로 추가
-            List<PackingItem> items = scenario.getItems();
-            items.clear(); // 기존 아이템들 제거
-            
-            // 새 아이템들 추가
-            for (var itemRequest : request.items()) {
-                PackingItem item = new PackingItem();
-                item.setScenario(scenario);
-                item.setName(itemRequest.name());
-                item.setWidth(itemRequest.width());
-                item.setHeight(itemRequest.height());
-                item.setQuantity(itemRequest.quantity());
-                items.add(item);
-            }
+            ItemDiff diff = mergeItems(scenario, request.items());
+            logger.info("아이템 업데이트 완료 - 추가: {}, 삭제: {}, 총 {}개 아이템", diff.added(), diff.removed(),
+                    scenario.getItems().size());
 
-            logger.info("아이템 업데이트 완료 - 총 {}개 아이템", items.size());
+            // 트럭 종류는 요청에 포함된 경우에만 교체 (없으면 기존 목록 유지)
+            if (request.truckTypes() != null) {
+                List<PackingTruckType> truckTypes = scenario.getTruckTypes();
+                truckTypes.clear();
+                for (var truckTypeRequest : request.truckTypes()) {
+                    truckTypes.add(toTruckType(scenario, truckTypeRequest));
+                }
+            }
 
             PackingScenario savedScenario = scenarioRepository.save(scenario);
             logger.info("시나리오 수정 완료 - ID: {}", savedScenario.getId());
 
+            // 트럭 설정이 바뀐 경우에만 저장된 적재 결과를 지운다. 아이템만 바뀐 경우에는 기하 해시가 달라 조회되지 않지만
+            // 부분 재계산(mode=INCREMENTAL)의 이전 결과로 쓰도록 남겨 둔다
+            PackingInstance after = PackingInstance.of(savedScenario);
+            if (before.binWidth() != after.binWidth() || before.binHeight() != after.binHeight()
+                    || before.allowRotate() != after.allowRotate() || before.margin() != after.margin()) {
+                layoutService.invalidate(id);
+                logger.info("트럭 설정 변경으로 저장된 적재 결과 무효화 - ID: {}", id);
+            }
+            // 목록용 적재 통계는 커밋 후 비동기로 다시 계산
+            if (!before.geometryKey().equals(after.geometryKey())) {
+                statsService.refreshAfterCommit(id);
+            }
+
             return ResponseEntity.ok(convertToResponse(savedScenario));
             
         } catch (Exception e) {
@@ -341,7 +660,855 @@ public class PackingScenarioController {
         return ResponseEntity.noContent().build();
     }
 
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 계산")
+    @PostMapping("/{id}/pack")
+    public ResponseEntity<?> packScenario(@PathVariable("id") @NonNull Long id,
+                                          @RequestParam(name = "mode", defaultValue = "GREEDY") PackingMode mode,
+                                          @RequestParam(name = "engine", defaultValue = "AUTO") PackingEngine engine,
+                                          @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            if (mode == PackingMode.SCALE && !packingService.scaleRetainsLayout(instance)) {
+                instance.requireAllFit();
+                return streamScaleResponse(instance);
+            }
+            PackingResult result = layoutService.find(id, instance, mode, engine)
+                    .orElseGet(() -> packAndStore(scenario, instance, mode, engine));
+            return negotiatePackResponse(instance, result, accept);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 전체 배치를 메모리에 둘 수 없는 SCALE 계산의 응답. PackResponse와 같은 JSON을 트럭을 닫을 때마다 이어 쓰고
+     * (배치는 응답 객체를 만들지 않고 바로 쓴다), 트럭 수 등 요약 필드는 맨 뒤에 쓴다. 결과는 저장하지 않는다.
+     */
+    private ResponseEntity<?> streamScaleResponse(PackingInstance instance) {
+        StreamingResponseBody body = out -> {
+            int lowerBound = PackingBounds.lowerBound(instance);
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("trucks");
+                ScalePacker.Summary summary;
+                try {
+                    summary = packingService.packScaleStreaming(instance, (layout, truck, from, to) -> {
+                        try {
+                            json.writeStartArray();
+                            for (int i = from; i < to; i++) {
+                                json.writeStartObject();
+                                json.writeNumberField("id", instance.itemIds()[layout.type(i)]);
+                                json.writeNumberField("x", layout.x(i));
+                                json.writeNumberField("y", layout.y(i));
+                                json.writeNumberField("w", layout.width(i));
+                                json.writeNumberField("h", layout.height(i));
+                                json.writeBooleanField("rotated", layout.rotated(i));
+                                json.writeNumberField("truck", truck);
+                                json.writeEndObject();
+                            }
+                            json.writeEndArray();
+                            json.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                json.writeEndArray();
+                json.writeNumberField("count", summary.count());
+                json.writeNumberField("utilization", summary.utilization());
+                json.writeStringField("strategy", summary.strategy());
+                json.writeNumberField("lowerBound", lowerBound);
+                json.writeNumberField("gap", lowerBound > 0 ? (double) (summary.count() - lowerBound) / lowerBound : 0);
+                json.writeBooleanField("provenOptimal", summary.count() <= lowerBound);
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Accept에 압축 레이아웃 형식이 명시되어 있으면 PackingLayoutCodec 인코딩으로, 아니면 기존 JSON(PackResponse)으로 응답한다.
+     * 바이너리 응답의 부가 정보(종류별 아이템 ID, 전략, 하한, 최적 증명)는 X-Packing-* 헤더로 보낸다.
+     */
+    private ResponseEntity<?> negotiatePackResponse(PackingInstance instance, PackingResult result, String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept != null ? MediaType.parseMediaTypes(accept) : List.of();
+        } catch (InvalidMediaTypeException e) {
+            accepted = List.of();
+        }
+        boolean binary = accepted.stream().anyMatch(LAYOUT_BINARY::equalsTypeAndSubtype);
+        boolean compactJson = accepted.stream().anyMatch(LAYOUT_JSON::equalsTypeAndSubtype);
+        if (!binary && !compactJson) {
+            return ResponseEntity.ok(convertToPackResponse(instance, result));
+        }
+
+        PackingLayout layout = result.layout();
+        byte[] encoded = PackingLayoutCodec.encode(instance, layout);
+        int lowerBound = PackingBounds.lowerBound(instance);
+        boolean provenOptimal = result.provenOptimal() || layout.truckCount() <= lowerBound;
+        List<Long> itemIds = Arrays.stream(instance.itemIds()).boxed().toList();
+        if (binary) {
+            return ResponseEntity.ok()
+                    .contentType(LAYOUT_BINARY)
+                    .header("X-Packing-Item-Ids", itemIds.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .header("X-Packing-Strategy", result.strategy())
+                    .header("X-Packing-Lower-Bound", String.valueOf(lowerBound))
+                    .header("X-Packing-Proven-Optimal", String.valueOf(provenOptimal))
+                    .body(encoded);
+        }
+        return ResponseEntity.ok()
+                .contentType(LAYOUT_JSON)
+                .body(new CompactPackResponse(
+                        layout.truckCount(),
+                        layout.utilization(instance.binWidth(), instance.binHeight()),
+                        result.strategy(),
+                        lowerBound,
+                        lowerBound > 0 ? (double) (layout.truckCount() - lowerBound) / lowerBound : 0,
+                        provenOptimal,
+                        itemIds,
+                        Base64.getEncoder().encodeToString(encoded)));
+    }
+
+    private PackingResult packAndStore(PackingScenario scenario, PackingInstance instance,
+                                       PackingMode mode, PackingEngine engine) {
+        PackingResult result = packOrRepair(instance, findPrevious(scenario, instance, mode), mode, engine);
+        store(scenario, instance, mode, engine, result);
+        return result;
+    }
+
+    /** 부분 재계산(INCREMENTAL)의 기준이 될 이전 결과. 다른 모드이거나 저장된 결과가 없으면 null */
+    private PackingLayoutCodec.Decoded findPrevious(PackingScenario scenario, PackingInstance instance, PackingMode mode) {
+        return mode == PackingMode.INCREMENTAL ? layoutService.findPrevious(scenario.getId(), instance).orElse(null) : null;
+    }
+
+    /** 이전 결과가 있으면 부분 재계산, 없으면 전체 계산 (DB 접근 없음) */
+    private PackingResult packOrRepair(PackingInstance instance, PackingLayoutCodec.Decoded previous,
+                                       PackingMode mode, PackingEngine engine) {
+        return previous != null ? packingService.repair(instance, previous, engine) : packingService.pack(instance, mode, engine);
+    }
+
+    private void store(PackingScenario scenario, PackingInstance instance, PackingMode mode, PackingEngine engine,
+                       PackingResult result) {
+        try {
+            layoutService.save(scenario, instance, mode, engine, result);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 시나리오를 동시에 계산해 다른 요청이 먼저 저장한 경우: 결과는 같으므로 무시
+            logger.debug("적재 결과 동시 저장 - ID: {}", scenario.getId());
+        }
+    }
+
+    /**
+     * 적재 계산을 트럭 단위로 스트리밍한다 (application/x-ndjson). 순차 패커는 트럭을 닫는 즉시 그 트럭의 배치를 한 줄로
+     * 보내고 flush하므로, 클라이언트는 뒤쪽 트럭을 계산하는 동안 앞쪽 트럭부터 그릴 수 있다. 저장된 결과나 순차 패커가 아닌
+     * 모드의 결과는 계산이 끝난 뒤 트럭 순서대로 보낸다. 결과는 /pack과 같이 저장한다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 계산 (스트리밍)")
+    @PostMapping("/{id}/pack-stream")
+    public ResponseEntity<?> packScenarioStream(@PathVariable("id") @NonNull Long id,
+                                                @RequestParam(name = "mode", defaultValue = "GREEDY") PackingMode mode,
+                                                @RequestParam(name = "engine", defaultValue = "AUTO") PackingEngine engine) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        // 트럭보다 큰 아이템이나 메모리 한도를 넘는 SCALE 요청은 스트림을 열기 전에 400으로 알린다
+        PackingInstance instance;
+        boolean scaleStreaming;
+        try {
+            instance = PackingInstance.of(scenario);
+            instance.requireAllFit();
+            scaleStreaming = mode == PackingMode.SCALE && !packingService.scaleRetainsLayout(instance);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> {
+            int lowerBound = PackingBounds.lowerBound(instance);
+            writeLine(out, new PackStreamStart("start", instance.binWidth(), instance.binHeight(), lowerBound));
+            // 클라이언트가 연결을 끊으면 쓰기 예외가 패커까지 올라가 계산도 멈춘다
+            TruckListener listener = (layout, truck, from, to) -> {
+                List<PlacedResponse> placements = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) placements.add(toPlacedResponse(instance, layout, i));
+                try {
+                    writeLine(out, new PackStreamTruck("truck", truck, placements));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            int count;
+            double utilization;
+            String strategy;
+            boolean provenOptimal;
+            try {
+                if (scaleStreaming) {
+                    // 전체 배치를 둘 수 없는 SCALE: 트럭을 내보낸 뒤 버리므로 저장하지 않는다
+                    ScalePacker.Summary summary = packingService.packScaleStreaming(instance, listener);
+                    count = summary.count();
+                    utilization = summary.utilization();
+                    strategy = summary.strategy();
+                    provenOptimal = count <= lowerBound;
+                } else {
+                    PackingResult result = streamPack(scenario, instance, mode, engine, listener);
+                    PackingLayout layout = result.layout();
+                    count = layout.truckCount();
+                    utilization = layout.utilization(instance.binWidth(), instance.binHeight());
+                    strategy = result.strategy();
+                    provenOptimal = result.provenOptimal() || count <= lowerBound;
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                logger.warn("스트리밍 적재 계산 실패 - ID: {}, 오류: {}", id, e.getMessage());
+                writeLine(out, new PackStreamError("error", e instanceof IllegalArgumentException
+                        ? e.getMessage() : "적재 계산 중 오류가 발생했습니다"));
+                return;
+            }
+            writeLine(out, new PackStreamDone("done", count, utilization, strategy, lowerBound,
+                    lowerBound > 0 ? (double) (count - lowerBound) / lowerBound : 0, provenOptimal));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /** packAndStore와 같은 순서(저장된 결과 → 부분 재계산 → 계산)로 결과를 구하면서 트럭마다 listener에 알린다. */
+    private PackingResult streamPack(PackingScenario scenario, PackingInstance instance, PackingMode mode,
+                                     PackingEngine engine, TruckListener listener) {
+        Optional<PackingResult> stored = layoutService.find(scenario.getId(), instance, mode, engine);
+        if (stored.isPresent()) {
+            TruckListener.replay(stored.get().layout(), listener);
+            return stored.get();
+        }
+        Optional<PackingLayoutCodec.Decoded> previous = mode == PackingMode.INCREMENTAL
+                ? layoutService.findPrevious(scenario.getId(), instance) : Optional.empty();
+        PackingResult result;
+        if (previous.isPresent()) {
+            result = packingService.repair(instance, previous.get(), engine);
+            TruckListener.replay(result.layout(), listener);
+        } else {
+            result = packingService.packStreaming(instance, mode, engine, listener);
+        }
+        store(scenario, instance, mode, engine, result);
+        return result;
+    }
+
+    /**
+     * 적재 배치를 이미지(SVG, PNG)로 그려 내려준다. 트럭마다 패널 하나(너비 width px)를 한 줄에 columns개씩 놓고
+     * 아이템 칸에는 이름과 크기를 적는다. ETag는 이미지를 결정하는 입력(배치, 아이템 이름/ID, 옵션)의 해시이므로
+     * If-None-Match가 맞으면 렌더링 없이 304를 돌려주고, 그린 이미지는 같은 해시로 캐시한다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 이미지")
+    @GetMapping("/{id}/render")
+    public ResponseEntity<?> renderScenario(@PathVariable("id") @NonNull Long id,
+                                            @RequestParam(name = "format", defaultValue = "SVG") RenderFormat format,
+                                            @RequestParam(name = "mode", defaultValue = "GREEDY") PackingMode mode,
+                                            @RequestParam(name = "engine", defaultValue = "AUTO") PackingEngine engine,
+                                            @RequestParam(name = "width", defaultValue = "480") int width,
+                                            @RequestParam(name = "columns", defaultValue = "2") int columns,
+                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        if (width < MIN_RENDER_WIDTH || width > MAX_RENDER_WIDTH) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "width는 " + MIN_RENDER_WIDTH + "~" + MAX_RENDER_WIDTH + " 사이여야 합니다"));
+        }
+        if (columns < 1 || columns > MAX_RENDER_COLUMNS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "columns는 1~" + MAX_RENDER_COLUMNS + " 사이여야 합니다"));
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            PackingResult result = layoutService.find(id, instance, mode, engine)
+                    .orElseGet(() -> packAndStore(scenario, instance, mode, engine));
+            String hash = renderService.hash(instance, result.layout(), format, width, columns);
+            String etag = "\"" + hash + "\"";
+            // 로그인 사용자 전용 이미지이므로 공유 캐시에는 두지 않고, 매번 ETag로 재검증한다
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            byte[] image = renderService.render(hash, instance, result.layout(), format, width, columns);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .contentType(format.mediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                            .filename("scenario-" + id + "." + format.extension()).build().toString())
+                    .body(image);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /** If-None-Match 목록 중 하나가 etag와 같은지 (약한 비교: W/ 접두사 무시, *는 항상 일치) */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 제한 시간 동안 적재 결과를 개선하면서 더 좋은 결과를 찾을 때마다 SSE "improvement" 이벤트로 보낸다.
+     * 마감 시각이 되거나 트럭 수가 하한에 도달하면 "done" 이벤트를 보내고 스트림을 닫는다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 최적화")
+    @GetMapping("/{id}/optimize")
+    public ResponseEntity<?> optimizeScenario(@PathVariable("id") @NonNull Long id,
+                                              @RequestParam(name = "deadlineMs", required = false) Long deadlineMs) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        PackingInstance instance;
+        try {
+            instance = PackingInstance.of(scenario);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        var limits = packingProperties.getOptimize();
+        long budgetMs = Math.min(deadlineMs != null ? Math.max(0, deadlineMs) : limits.getDefaultDeadlineMs(), limits.getMaxDeadlineMs());
+        // 마감 후 마지막 재패킹과 done 이벤트 전송까지 기다릴 여유를 둔다
+        SseEmitter emitter = new SseEmitter(budgetMs + 30_000);
+
+        Future<?> task;
+        try {
+            task = optimizerExecutor.submit(() -> runOptimize(emitter, instance, Duration.ofMillis(budgetMs)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(429).body(Map.of("error", "진행 중인 최적화 작업이 많습니다. 잠시 후 다시 시도해주세요"));
+        }
+        // 클라이언트가 연결을 끊거나 시간이 초과되면 최적화를 중단
+        emitter.onTimeout(() -> task.cancel(true));
+        emitter.onError(e -> task.cancel(true));
+        emitter.onCompletion(() -> task.cancel(true));
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void runOptimize(SseEmitter emitter, PackingInstance instance, Duration budget) {
+        try {
+            PackingService.OptimizeOutcome outcome = packingService.optimize(instance, budget, result -> {
+                try {
+                    emitter.send(SseEmitter.event().name("improvement").data(convertToPackResponse(instance, result)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            emitter.send(SseEmitter.event().name("done").data(new OptimizeDoneResponse(
+                    outcome.result().layout().truckCount(), outcome.lowerBound(), outcome.reachedLowerBound())));
+            emitter.complete();
+        } catch (IOException | UncheckedIOException e) {
+            // 클라이언트 연결 종료: 더 보낼 곳이 없으므로 조용히 끝낸다
+            logger.debug("적재 최적화 스트림 종료: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("적재 최적화 중 오류: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 여러 시나리오를 한 번에 적재 계산한다. 시나리오와 아이템은 fetch join 쿼리 한 번으로 읽고, packingPool에서 병렬로
+     * 계산하며, 끝나는 순서대로 한 줄씩(application/x-ndjson) 내려보낸다. 저장된 결과가 있으면 그대로 쓰고 새로 계산한 결과는 저장한다.
+     * 저장된 결과 조회와 저장(JDBC)은 응답 스레드에서 하고 packingPool에는 계산만 넘기므로, 일괄 요청이 CPU 풀 스레드를
+     * I/O로 붙잡거나 커넥션 풀을 풀 스레드 수만큼 점유하지 않는다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 일괄 적재 계산")
+    @PostMapping("/pack-batch")
+    public ResponseEntity<?> packBatch(@RequestBody BatchPackRequest request) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        boolean favorites = Boolean.TRUE.equals(request.favorites());
+        if (!favorites && (request.ids() == null || request.ids().isEmpty())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "시나리오 ID 목록 또는 favorites=true를 입력해주세요"));
+        }
+
+        Set<Long> requested = favorites ? Set.of() : new LinkedHashSet<>(request.ids());
+        int maxScenarios = packingProperties.getBatchMaxScenarios();
+        if (requested.size() > maxScenarios) {
+            return ResponseEntity.badRequest().body(Map.of("error", "한 번에 최대 " + maxScenarios + "개 시나리오까지 계산할 수 있습니다"));
+        }
+
+        List<PackingScenario> scenarios = favorites
+                ? scenarioRepository.findFavoritesWithItemsByUser(user)
+                : scenarioRepository.findWithItemsByUserAndIdIn(user, requested);
+        if (scenarios.size() > maxScenarios) {
+            scenarios = scenarios.subList(0, maxScenarios);
+        }
+
+        PackingMode mode = request.mode() != null ? request.mode() : PackingMode.GREEDY;
+        PackingEngine engine = request.engine() != null ? request.engine() : PackingEngine.AUTO;
+
+        // 없거나 다른 사용자의 시나리오는 계산 없이 오류 줄로 보낸다
+        List<BatchPackLine> missing = new ArrayList<>();
+        Set<Long> found = scenarios.stream().map(PackingScenario::getId).collect(Collectors.toSet());
+        for (Long scenarioId : requested) {
+            if (!found.contains(scenarioId)) {
+                missing.add(new BatchPackLine(scenarioId, null, null, "시나리오를 찾을 수 없습니다"));
+            }
+        }
+
+        List<PackingScenario> targets = scenarios;
+        StreamingResponseBody body = out -> {
+            for (BatchPackLine line : missing) {
+                writeLine(out, line);
+            }
+            CompletionService<BatchPackTask> completion = new ExecutorCompletionService<>(packingPool);
+            int submitted = 0;
+            for (PackingScenario scenario : targets) {
+                BatchPackTask task = prepareBatchOne(scenario, mode, engine);
+                if (task.line() != null) {
+                    writeLine(out, task.line());
+                    continue;
+                }
+                completion.submit(() -> computeBatchOne(task, mode, engine));
+                submitted++;
+            }
+            for (int i = 0; i < submitted; i++) {
+                writeLine(out, storeBatchOne(takeTask(completion), mode, engine));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /** mergeItems 결과: 새로 추가한 아이템 수와 삭제한 아이템 수 */
+    record ItemDiff(int added, int removed) {}
+
+    /**
+     * 요청의 아이템 ID로 기존 아이템과 비교해 바뀐 것만 반영한다
+     * (값이 같은 아이템은 UPDATE가 나가지 않고, 추가/삭제는 JDBC 배치로 묶인다).
+     * 이 시나리오의 아이템이 아닌 ID나 같은 요청에서 두 번째로 나온 ID는 새 아이템으로 추가하고, 다른 시나리오의 아이템은 건드리지 않는다.
+     */
+    static ItemDiff mergeItems(PackingScenario scenario, List<ItemRequest> requests) {
+        List<PackingItem> items = scenario.getItems();
+        Map<Long, PackingItem> existing = new HashMap<>();
+        for (PackingItem item : items) existing.put(item.getId(), item);
+
+        List<PackingItem> added = new ArrayList<>();
+        for (var itemRequest : requests) {
+            PackingItem item = itemRequest.id() != null ? existing.remove(itemRequest.id()) : null;
+            if (item == null) {
+                item = new PackingItem();
+                item.setScenario(scenario);
+                added.add(item);
+            }
+            item.setName(itemRequest.name());
+            item.setWidth(itemRequest.width());
+            item.setHeight(itemRequest.height());
+            item.setQuantity(itemRequest.quantity());
+        }
+        items.removeAll(existing.values());
+        items.addAll(added);
+        return new ItemDiff(added.size(), existing.size());
+    }
+
+    /**
+     * 일괄 계산 한 건. line이 있으면 바로 보낼 줄(저장된 결과 또는 오류)이고, 없으면 instance를 계산해 result를 채운다.
+     * previous는 부분 재계산(INCREMENTAL)의 기준이 될 이전 결과다.
+     */
+    private record BatchPackTask(PackingScenario scenario, PackingInstance instance, PackingLayoutCodec.Decoded previous,
+                                 PackingResult result, BatchPackLine line) {
+    }
+
+    /** 응답 스레드: 입력 변환과 저장된 결과/이전 결과 조회 (JDBC) */
+    private BatchPackTask prepareBatchOne(PackingScenario scenario, PackingMode mode, PackingEngine engine) {
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            Optional<PackingResult> stored = layoutService.find(scenario.getId(), instance, mode, engine);
+            if (stored.isPresent()) {
+                return new BatchPackTask(scenario, instance, null, stored.get(), batchLine(scenario, instance, stored.get()));
+            }
+            return new BatchPackTask(scenario, instance, findPrevious(scenario, instance, mode), null, null);
+        } catch (RuntimeException e) {
+            return new BatchPackTask(scenario, null, null, null, batchError(scenario, e));
+        }
+    }
+
+    /** packingPool: 계산만 한다 (DB 접근 없음) */
+    private BatchPackTask computeBatchOne(BatchPackTask task, PackingMode mode, PackingEngine engine) {
+        try {
+            PackingResult result = packOrRepair(task.instance(), task.previous(), mode, engine);
+            return new BatchPackTask(task.scenario(), task.instance(), null, result, null);
+        } catch (RuntimeException e) {
+            return new BatchPackTask(task.scenario(), task.instance(), null, null, batchError(task.scenario(), e));
+        }
+    }
+
+    /** 응답 스레드: 계산 결과 저장 (JDBC) 후 보낼 줄 */
+    private BatchPackLine storeBatchOne(BatchPackTask task, PackingMode mode, PackingEngine engine) {
+        if (task.line() != null) return task.line();
+        try {
+            store(task.scenario(), task.instance(), mode, engine, task.result());
+            return batchLine(task.scenario(), task.instance(), task.result());
+        } catch (RuntimeException e) {
+            return batchError(task.scenario(), e);
+        }
+    }
+
+    private BatchPackLine batchLine(PackingScenario scenario, PackingInstance instance, PackingResult result) {
+        return new BatchPackLine(scenario.getId(), scenario.getName(), convertToPackResponse(instance, result), null);
+    }
+
+    private BatchPackLine batchError(PackingScenario scenario, RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return new BatchPackLine(scenario.getId(), scenario.getName(), null, e.getMessage());
+        }
+        logger.warn("일괄 적재 계산 실패 - ID: {}, 오류: {}", scenario.getId(), e.getMessage());
+        return new BatchPackLine(scenario.getId(), scenario.getName(), null, "적재 계산 중 오류가 발생했습니다");
+    }
+
+    private static BatchPackTask takeTask(CompletionService<BatchPackTask> completion) throws IOException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("일괄 적재 계산이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IOException("일괄 적재 계산 중 오류가 발생했습니다", e.getCause());
+        }
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * 트럭 크기 비교: 후보 크기(가로 × 세로 격자)마다 시나리오를 다시 패킹한 트럭 수/적재율 표를 돌려준다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 트럭 크기 비교")
+    @PostMapping("/{id}/sweep")
+    public ResponseEntity<?> sweepTruckSizes(@PathVariable("id") @NonNull Long id, @Valid @RequestBody SweepRequest request) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        int[] widths = request.widths().stream().mapToInt(Integer::intValue).distinct().toArray();
+        int[] heights = request.heights().stream().mapToInt(Integer::intValue).distinct().toArray();
+        int maxCandidates = packingProperties.getSweepMaxCandidates();
+        if ((long) widths.length * heights.length > maxCandidates) {
+            return ResponseEntity.badRequest().body(Map.of("error", "트럭 크기 후보는 최대 " + maxCandidates + "개까지 계산할 수 있습니다"));
+        }
+
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            PackingEngine engine = request.engine() != null ? request.engine() : PackingEngine.AUTO;
+            return ResponseEntity.ok(packingService.sweep(instance, widths, heights, engine));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 혼합 차량 패킹: 시나리오의 트럭 종류(비용, 가용 대수) 중에서 총비용이 가장 작은 트럭 조합과 배치를 계산한다.
+     * 트럭 종류가 없으면 시나리오 트럭 크기 한 종류로 계산한다.
+     */
+    @AdminLoggable(action = AdminLog.Action.READ, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 혼합 차량 적재 계산")
+    @PostMapping("/{id}/pack-fleet")
+    public ResponseEntity<?> packScenarioFleet(@PathVariable("id") @NonNull Long id) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            PackingFleet fleet = PackingFleet.of(scenario);
+            FleetPlan plan = packingService.packFleet(instance, fleet);
+            return ResponseEntity.ok(convertToFleetResponse(instance, fleet, plan));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 적재 계산을 비동기 작업으로 등록하고 작업 ID를 바로 돌려준다 (202).
+     * deadlineMs가 있으면 제한 시간 최적화, 없으면 mode/engine으로 계산해 결과를 저장한다.
+     */
+    @AdminLoggable(action = AdminLog.Action.CREATE, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 작업 등록")
+    @PostMapping("/{id}/pack-jobs")
+    public ResponseEntity<?> submitPackJob(@PathVariable("id") @NonNull Long id,
+                                           @RequestParam(name = "mode", defaultValue = "GREEDY") PackingMode mode,
+                                           @RequestParam(name = "engine", defaultValue = "AUTO") PackingEngine engine,
+                                           @RequestParam(name = "deadlineMs", required = false) Long deadlineMs) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        var scenario = scenarioRepository.findById(id).orElse(null);
+        if (scenario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!scenario.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body(null);
+        }
+
+        try {
+            PackingInstance instance = PackingInstance.of(scenario);
+            PackingJob job;
+            if (deadlineMs != null) {
+                long budgetMs = Math.min(Math.max(0, deadlineMs), packingProperties.getOptimize().getMaxDeadlineMs());
+                job = jobService.submit(user.getUsername(), id, instance,
+                        in -> packingService.optimize(in, Duration.ofMillis(budgetMs), result -> {}).result());
+            } else {
+                job = jobService.submit(user.getUsername(), id, instance,
+                        in -> layoutService.find(id, in, mode, engine).orElseGet(() -> packAndStore(scenario, in, mode, engine)));
+            }
+            return ResponseEntity.accepted().body(convertToJobResponse(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(429).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/pack-jobs/{jobId}")
+    public ResponseEntity<PackJobResponse> getPackJob(@PathVariable("jobId") String jobId) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        return jobService.find(auth.getName(), jobId)
+                .map(job -> ResponseEntity.ok(convertToJobResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @AdminLoggable(action = AdminLog.Action.DELETE, entityType = AdminLog.EntityType.SCENARIO, details = "시나리오 적재 작업 취소")
+    @DeleteMapping("/pack-jobs/{jobId}")
+    public ResponseEntity<PackJobResponse> cancelPackJob(@PathVariable("jobId") String jobId) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            return ResponseEntity.status(401).body(null);
+        }
+
+        return jobService.cancel(auth.getName(), jobId)
+                .map(job -> ResponseEntity.ok(convertToJobResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private PackJobResponse convertToJobResponse(PackingJob job) {
+        PackingResult result = job.getResult();
+        return new PackJobResponse(
+                job.getId(),
+                job.getScenarioId(),
+                job.getStatus(),
+                job.getCreatedAt().toString(),
+                job.getFinishedAt() != null ? job.getFinishedAt().toString() : null,
+                job.getError(),
+                result != null ? convertToPackResponse(job.getInstance(), result) : null
+        );
+    }
+
+    @GetMapping("/pack/cache")
+    public ResponseEntity<PackingResultCache.Stats> getPackingCacheStats() {
+        return ResponseEntity.ok(packingService.cacheStats());
+    }
+
+    private PackingTruckType toTruckType(PackingScenario scenario, TruckTypeRequest request) {
+        PackingTruckType truckType = new PackingTruckType();
+        truckType.setScenario(scenario);
+        truckType.setName(request.name());
+        truckType.setWidth(request.width());
+        truckType.setHeight(request.height());
+        truckType.setCost(request.cost());
+        truckType.setAvailableCount(request.availableCount());
+        return truckType;
+    }
+
+    private FleetPackResponse convertToFleetResponse(PackingInstance instance, PackingFleet fleet, FleetPlan plan) {
+        PackingLayout layout = plan.layout();
+        List<List<PlacedResponse>> placed = new ArrayList<>(layout.truckCount());
+        long[] areas = new long[layout.truckCount()];
+        for (int t = 0; t < layout.truckCount(); t++) {
+            placed.add(new ArrayList<>());
+        }
+        for (int i = 0; i < layout.size(); i++) {
+            int truck = layout.truck(i);
+            areas[truck] += (long) layout.width(i) * layout.height(i);
+            placed.get(truck).add(new PlacedResponse(
+                    instance.itemIds()[layout.type(i)],
+                    layout.x(i),
+                    layout.y(i),
+                    layout.width(i),
+                    layout.height(i),
+                    layout.rotated(i),
+                    truck
+            ));
+        }
+
+        List<FleetTruckResponse> trucks = new ArrayList<>(layout.truckCount());
+        for (int t = 0; t < layout.truckCount(); t++) {
+            int k = plan.truckTypes()[t];
+            long truckId = fleet.truckTypeIds()[k];
+            int width = fleet.widths()[k];
+            int height = fleet.heights()[k];
+            trucks.add(new FleetTruckResponse(
+                    truckId >= 0 ? truckId : null,
+                    fleet.names()[k],
+                    width,
+                    height,
+                    fleet.costs()[k],
+                    (double) areas[t] / ((double) width * height),
+                    placed.get(t)
+            ));
+        }
+        return new FleetPackResponse(plan.totalCost(), layout.truckCount(), trucks);
+    }
+
+    private static PlacedResponse toPlacedResponse(PackingInstance instance, PackingLayout layout, int i) {
+        return new PlacedResponse(
+                instance.itemIds()[layout.type(i)],
+                layout.x(i),
+                layout.y(i),
+                layout.width(i),
+                layout.height(i),
+                layout.rotated(i),
+                layout.truck(i)
+        );
+    }
+
+    private PackResponse convertToPackResponse(PackingInstance instance, PackingResult result) {
+        PackingLayout layout = result.layout();
+        List<List<PlacedResponse>> trucks = new ArrayList<>(layout.truckCount());
+        for (int t = 0; t < layout.truckCount(); t++) {
+            trucks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < layout.size(); i++) {
+            trucks.get(layout.truck(i)).add(toPlacedResponse(instance, layout, i));
+        }
+
+        int lowerBound = PackingBounds.lowerBound(instance);
+        return new PackResponse(
+                layout.truckCount(),
+                layout.utilization(instance.binWidth(), instance.binHeight()),
+                result.strategy(),
+                lowerBound,
+                lowerBound > 0 ? (double) (layout.truckCount() - lowerBound) / lowerBound : 0,
+                result.provenOptimal() || layout.truckCount() <= lowerBound,
+                trucks
+        );
+    }
+
     private ScenarioResponse convertToResponse(PackingScenario scenario) {
+        return convertToResponse(scenario, null);
+    }
+
+    private ScenarioResponse convertToResponse(PackingScenario scenario, PackResponse layout) {
         List<ItemResponse> items = scenario.getItems().stream()
                 .map(item -> new ItemResponse(
                         item.getId(),
@@ -352,6 +1519,17 @@ public class PackingScenarioController {
                 ))
                 .collect(Collectors.toList());
 
+        List<TruckTypeResponse> truckTypes = scenario.getTruckTypes().stream()
+                .map(truckType -> new TruckTypeResponse(
+                        truckType.getId(),
+                        truckType.getName(),
+                        truckType.getWidth(),
+                        truckType.getHeight(),
+                        truckType.getCost(),
+                        truckType.getAvailableCount()
+                ))
+                .collect(Collectors.toList());
+
         return new ScenarioResponse(
                 scenario.getId(),
                 scenario.getName(),
@@ -361,9 +1539,14 @@ public class PackingScenarioController {
                 scenario.getAllowRotate(),
                 scenario.getMargin(),
                 scenario.getIsFavorite(),
+                scenario.getPackedTruckCount(),
+                scenario.getPackedUtilization(),
+                scenario.getPackedLowerBound(),
                 scenario.getCreatedAt().toString(),
                 scenario.getUpdatedAt().toString(),
-                items
+                items,
+                truckTypes,
+                layout
         );
     }
 }
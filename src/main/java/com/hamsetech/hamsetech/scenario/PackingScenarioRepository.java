@@ -1,12 +1,18 @@
 package com.hamsetech.hamsetech.scenario;
 
 import com.hamsetech.hamsetech.user.UserAccount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PackingScenarioRepository extends JpaRepository<PackingScenario, Long> {
@@ -28,4 +34,83 @@ public interface PackingScenarioRepository extends JpaRepository<PackingScenario
     
     @Query("SELECT s FROM PackingScenario s WHERE s.user = :user AND s.name = :name AND s.id != :excludeId")
     List<PackingScenario> findByUserAndNameExcludingId(@Param("user") UserAccount user, @Param("name") String name, @Param("excludeId") Long excludeId);
+
+    // 일괄 적재 계산용: 아이템까지 한 번의 쿼리로 읽는다 (fetch join)
+    @Query("SELECT DISTINCT s FROM PackingScenario s LEFT JOIN FETCH s.items WHERE s.user = :user AND s.id IN :ids")
+    List<PackingScenario> findWithItemsByUserAndIdIn(@Param("user") UserAccount user, @Param("ids") Collection<Long> ids);
+
+    // findByUserAndIsFavoriteTrueOrderByUpdatedAtDesc와 같은 목록을 아이템과 함께 한 번에 읽는다
+    @Query("SELECT DISTINCT s FROM PackingScenario s LEFT JOIN FETCH s.items " +
+           "WHERE s.user = :user AND s.isFavorite = true ORDER BY s.updatedAt DESC")
+    List<PackingScenario> findFavoritesWithItemsByUser(@Param("user") UserAccount user);
+
+    @Query("SELECT s FROM PackingScenario s LEFT JOIN FETCH s.items WHERE s.id = :id")
+    Optional<PackingScenario> findWithItemsById(@Param("id") Long id);
+
+    // 적재 통계가 한 번도 계산되지 않은 시나리오 (기동 시 채우기용)
+    @Query("SELECT s.id FROM PackingScenario s WHERE s.statsGeometryKey IS NULL")
+    List<Long> findIdsWithoutPackingStats();
+
+    // 적재 통계만 갱신한다. 벌크 UPDATE라 updatedAt(@UpdateTimestamp)과 목록 순서가 바뀌지 않는다
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackingScenario s SET s.packedTruckCount = :truckCount, s.packedUtilization = :utilization, " +
+           "s.packedLowerBound = :lowerBound, s.statsGeometryKey = :geometryKey WHERE s.id = :id")
+    int updatePackingStats(@Param("id") Long id, @Param("geometryKey") String geometryKey,
+                           @Param("truckCount") Integer truckCount, @Param("utilization") Double utilization,
+                           @Param("lowerBound") Integer lowerBound);
+
+    // 요약 목록 공통 SELECT/조건 (minTrucks가 0이면 트럭 수, maxUtilization이 1 이상이면 적재율 조건 없음)
+    String SUMMARY_SELECT = "SELECT new com.hamsetech.hamsetech.scenario.ScenarioSummary(" +
+           "s.id, s.name, s.description, s.isFavorite, s.truckWidth, s.truckHeight, s.allowRotate, s.margin, " +
+           "COUNT(i.id), COALESCE(SUM(i.quantity), 0L), s.packedTruckCount, s.packedUtilization, s.packedLowerBound, " +
+           "s.createdAt, s.updatedAt) " +
+           "FROM PackingScenario s LEFT JOIN s.items i " +
+           "WHERE s.user = :user AND (:favoritesOnly = false OR s.isFavorite = true) " +
+           "AND (LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(s.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "AND (:minTrucks = 0 OR s.packedTruckCount >= :minTrucks) " +
+           "AND (:maxUtilization >= 1.0 OR s.packedUtilization <= :maxUtilization) ";
+
+    String SUMMARY_GROUP_BY = "GROUP BY s.id, s.name, s.description, s.isFavorite, s.truckWidth, s.truckHeight, " +
+           "s.allowRotate, s.margin, s.packedTruckCount, s.packedUtilization, s.packedLowerBound, s.createdAt, s.updatedAt ";
+
+    /**
+     * 목록용 요약을 (updatedAt, id) 내림차순 키셋 페이지로 읽는다. (cursorUpdatedAt, cursorId)보다 뒤인 행만 돌려주며
+     * 아이템 종류 수/총 수량은 같은 쿼리에서 집계하므로 아이템 엔티티를 읽지 않는다. query가 빈 문자열이면 검색 조건 없음.
+     */
+    @Query(SUMMARY_SELECT +
+           "AND (s.updatedAt < :cursorUpdatedAt OR (s.updatedAt = :cursorUpdatedAt AND s.id < :cursorId)) " +
+           SUMMARY_GROUP_BY +
+           "ORDER BY s.updatedAt DESC, s.id DESC")
+    List<ScenarioSummary> findSummaries(
+        @Param("user") UserAccount user,
+        @Param("favoritesOnly") boolean favoritesOnly,
+        @Param("query") String query,
+        @Param("minTrucks") int minTrucks,
+        @Param("maxUtilization") double maxUtilization,
+        @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+        @Param("cursorId") Long cursorId,
+        Limit limit
+    );
+
+    /**
+     * findSummaries와 같은 조건을 (트럭 수, id) 내림차순 키셋 페이지로 읽는다. 통계가 없는 시나리오는 트럭 수 0으로 본다.
+     * 비교/정렬 식은 식 인덱스 idx_packing_scenarios_user_trucks_coalesce(SchemaFixer)와 같아야 인덱스를 탄다.
+     */
+    @Query(SUMMARY_SELECT +
+           "AND (COALESCE(s.packedTruckCount, 0) < :cursorTrucks " +
+           "OR (COALESCE(s.packedTruckCount, 0) = :cursorTrucks AND s.id < :cursorId)) " +
+           SUMMARY_GROUP_BY +
+           "ORDER BY COALESCE(s.packedTruckCount, 0) DESC, s.id DESC")
+    List<ScenarioSummary> findSummariesByTruckCount(
+        @Param("user") UserAccount user,
+        @Param("favoritesOnly") boolean favoritesOnly,
+        @Param("query") String query,
+        @Param("minTrucks") int minTrucks,
+        @Param("maxUtilization") double maxUtilization,
+        @Param("cursorTrucks") int cursorTrucks,
+        @Param("cursorId") Long cursorId,
+        Limit limit
+    );
 }
@@ -0,0 +1,254 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * 시나리오 적재 계산 서비스. 프론트엔드에서 수행하던 packIntoTrucks를 서버에서 같은 방식(MaxRects, BSSF)으로 수행한다.
+ * 아이템 순서와 동점 처리가 달라 결과가 프론트엔드와 항상 같지는 않다 ({@link PackingInstance#of}, {@link MaxRectsPacker}).
+ */
+@Service
+public class PackingService {
+
+    private final ForkJoinPool packingPool;
+    private final PackingRace race;
+    private final PackingResultCache cache;
+    private final PackingProperties properties;
+
+    public PackingService(ForkJoinPool packingPool, PackingResultCache cache, PackingProperties properties) {
+        this.packingPool = packingPool;
+        this.race = new PackingRace(packingPool);
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    /**
+     * 기하 정보가 같으면 결과도 같으므로 (기하 해시, 모드, 엔진) 단위로 캐시한다.
+     * 캐시된 결과의 종류 인덱스는 정규형 입력 기준이라 같은 기하 정보의 다른 시나리오에도 그대로 적용된다.
+     */
+    public PackingResult pack(PackingInstance instance, PackingMode mode, PackingEngine engine) {
+        PackingEngine resolved = resolveEngine(instance, engine);
+        return cache.get(instance.geometryKey() + ":" + mode + ":" + resolved, () -> compute(instance, mode, resolved));
+    }
+
+    /**
+     * pack과 같은 결과를 만들면서 트럭을 닫을 때마다 listener에 알린다. 순차 패커(GREEDY, 그리고 GREEDY로 계산되는
+     * INCREMENTAL/AUTO)는 계산 도중에 트럭 단위로 알리고, 다른 모드나 캐시된 결과는 계산이 끝난 뒤 트럭 순서대로 알린다.
+     */
+    public PackingResult packStreaming(PackingInstance instance, PackingMode mode, PackingEngine engine,
+                                       TruckListener listener) {
+        PackingEngine resolved = resolveEngine(instance, engine);
+        boolean[] notified = {false};
+        PackingResult result = cache.get(instance.geometryKey() + ":" + mode + ":" + resolved, () -> {
+            notified[0] = true;
+            return compute(instance, mode, resolved, listener);
+        });
+        if (!notified[0]) TruckListener.replay(result.layout(), listener);
+        return result;
+    }
+
+    /**
+     * SCALE 모드에서 전체 배치를 메모리 예산 안에 둘 수 있는지. false면 packScaleStreaming으로만 계산할 수 있고,
+     * 그것도 예산을 넘으면 IllegalArgumentException.
+     */
+    public boolean scaleRetainsLayout(PackingInstance instance) {
+        return scalePacker(instance).retainsLayout();
+    }
+
+    /**
+     * 전체 배치를 두지 않고 트럭을 닫을 때마다 listener에 알린 뒤 버리는 대규모 패킹. 결과가 남지 않으므로 캐시하지 않는다.
+     * listener에 넘어오는 layout은 그 트럭의 배치만 담고 있으며 알림이 끝나면 비워진다.
+     */
+    public ScalePacker.Summary packScaleStreaming(PackingInstance instance, TruckListener listener) {
+        return scalePacker(instance).packStreaming(listener);
+    }
+
+    private ScalePacker scalePacker(PackingInstance instance) {
+        return new ScalePacker(instance, properties.getScale().getMemoryBudgetMb() * 1024 * 1024);
+    }
+
+    PackingEngine resolveEngine(PackingInstance instance, PackingEngine engine) {
+        if (engine != PackingEngine.AUTO) return engine;
+        return instance.unitCount() > properties.getAutoSkylineThreshold() ? PackingEngine.SKYLINE : PackingEngine.MAXRECTS;
+    }
+
+    /**
+     * 제한 시간 동안 배치 순서를 담금질 기법으로 개선한다. 휴리스틱 경쟁(RACE) 결과에서 시작해
+     * 더 좋은 결과를 찾을 때마다 onImprove로 알리며, 트럭 수가 하한(L0/L1/L2)에 도달하면 바로 끝낸다.
+     * 시작 결과도 onImprove로 먼저 전달한다.
+     */
+    public OptimizeOutcome optimize(PackingInstance instance, Duration budget, Consumer<PackingResult> onImprove) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        int lowerBound = PackingBounds.lowerBound(instance);
+        PackingResult initial = pack(instance, PackingMode.RACE, PackingEngine.MAXRECTS);
+        onImprove.accept(initial);
+        PackingResult best = new AnnealingOptimizer(instance, instance.geometryKey().hashCode())
+                .optimize(initial, deadline, lowerBound, onImprove);
+        return new OptimizeOutcome(best, lowerBound, best.layout().truckCount() <= lowerBound);
+    }
+
+    /**
+     * 이전 적재 결과를 바탕으로 바뀐 아이템이 있는 트럭만 다시 계산한다. 결과는 이전 결과에 따라 달라지므로 캐시하지 않는다.
+     * 부분 재계산 결과의 하한 대비 차이(gap)가 이전 결과의 gap보다 packing.incremental.max-gap-increase 넘게 커지면
+     * (또는 이전 결과가 현재 트럭에 맞지 않으면) engine으로 전체를 다시 계산한다.
+     */
+    public PackingResult repair(PackingInstance instance, PackingLayoutCodec.Decoded previous, PackingEngine engine) {
+        PackingLayout repaired = new IncrementalRepacker(instance, previous).repack();
+        if (repaired != null) {
+            int n = previous.widths().length;
+            PackingInstance before = new PackingInstance(instance.binWidth(), instance.binHeight(), instance.allowRotate(),
+                    instance.margin(), new long[n], new String[n], previous.widths(), previous.heights(), previous.quantities());
+            double gapBefore = gap(previous.layout().truckCount(), PackingBounds.lowerBound(before));
+            double gapAfter = gap(repaired.truckCount(), PackingBounds.lowerBound(instance));
+            if (gapAfter <= gapBefore + properties.getIncremental().getMaxGapIncrease()) {
+                return new PackingResult(repaired, IncrementalRepacker.STRATEGY);
+            }
+        }
+        return pack(instance, PackingMode.INCREMENTAL, engine);
+    }
+
+    private static double gap(int count, int lowerBound) {
+        return lowerBound > 0 ? (double) (count - lowerBound) / lowerBound : 0;
+    }
+
+    /** 최적화 결과. reachedLowerBound가 true면 트럭 수가 최적임이 증명된 것이다. */
+    public record OptimizeOutcome(PackingResult result, int lowerBound, boolean reachedLowerBound) {}
+
+    /**
+     * 트럭 종류별 비용을 최소화하는 혼합 차량 패킹. 결과는 시나리오의 트럭 종류 목록에 따라 달라지므로 캐시하지 않는다.
+     */
+    public FleetPlan packFleet(PackingInstance instance, PackingFleet fleet) {
+        return new FleetPacker(instance, fleet, packingPool, properties.getFleet().getBeamWidth()).pack();
+    }
+
+    /**
+     * 트럭 크기 후보(widths × heights 격자)마다 같은 아이템을 패킹해 트럭 수/적재율 표를 만든다.
+     * 정렬된 배치 순서는 트럭 크기와 무관하므로 한 번만 만들어 모든 후보가 읽기 전용으로 공유하고,
+     * 후보들은 packingPool에서 병렬로 계산한다. 아이템이 들어가지 않는 크기는 error에 사유를 담는다.
+     */
+    public List<SweepRow> sweep(PackingInstance instance, int[] widths, int[] heights, PackingEngine engine) {
+        PackingEngine resolved = resolveEngine(instance, engine);
+        int[] sequence = instance.unitSequence();
+        List<Callable<SweepRow>> tasks = new ArrayList<>(widths.length * heights.length);
+        for (int w : widths) {
+            for (int h : heights) {
+                tasks.add(() -> sweepOne(instance, w, h, resolved, sequence));
+            }
+        }
+        List<SweepRow> rows = new ArrayList<>(tasks.size());
+        for (Future<SweepRow> future : packingPool.invokeAll(tasks)) {
+            rows.add(await(future));
+        }
+        return rows;
+    }
+
+    /** 트럭 크기 후보 하나의 결과. 들어가지 않는 아이템이 있으면 count/utilization/lowerBound는 null */
+    public record SweepRow(int width, int height, Integer count, Double utilization, Integer lowerBound, String error) {}
+
+    private SweepRow sweepOne(PackingInstance instance, int width, int height, PackingEngine engine, int[] sequence) {
+        try {
+            PackingInstance sized = instance.withBin(width, height);
+            PackingLayout layout = greedy(sized, engine, sequence).layout();
+            return new SweepRow(width, height, layout.truckCount(), layout.utilization(width, height),
+                    PackingBounds.lowerBound(sized), null);
+        } catch (IllegalArgumentException e) {
+            return new SweepRow(width, height, null, null, null, e.getMessage());
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("패킹이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("패킹 중 오류가 발생했습니다", e.getCause());
+        }
+    }
+
+    public PackingResultCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    private PackingResult compute(PackingInstance instance, PackingMode mode, PackingEngine engine) {
+        return compute(instance, mode, engine, TruckListener.NONE);
+    }
+
+    /** 순차 패커로 계산하는 경우에만 listener가 계산 도중에 불리고, 나머지는 끝난 뒤 한꺼번에 불린다. */
+    private PackingResult compute(PackingInstance instance, PackingMode mode, PackingEngine engine, TruckListener listener) {
+        boolean sequential = mode == PackingMode.GREEDY || mode == PackingMode.INCREMENTAL
+                || (mode == PackingMode.AUTO && instance.unitCount() > properties.getExact().getAutoThreshold());
+        if (sequential) {
+            // 이전 결과가 필요한 부분 재계산(INCREMENTAL)은 repair에서 한다. 여기서는 이전 결과가 없을 때의 전체 계산
+            return greedy(instance, engine, instance.unitSequence(), listener);
+        }
+        PackingResult result = switch (mode) {
+            case RACE -> raceUnlessOptimal(instance);
+            case BLOCK -> new PackingResult(new BlockPacker(instance).pack(SortOrder.AREA_DESC), "BLOCK/AREA_DESC");
+            case PATTERN -> pattern(instance);
+            case SCALE -> scalePacker(instance).packRetained();
+            // EXACT, 그리고 하한 계산 범위 안의 AUTO
+            default -> exact(instance);
+        };
+        TruckListener.replay(result.layout(), listener);
+        return result;
+    }
+
+    /**
+     * 휴리스틱 경쟁 결과를 상한으로 두고 분기 한정으로 트럭 수를 줄이거나 최적임을 증명한다.
+     * 예산(노드 수, 시간)을 넘기거나 전체 수량이 packing.exact.max-units를 넘으면 상한 결과를 그대로 돌려준다.
+     */
+    private PackingResult exact(PackingInstance instance) {
+        PackingProperties.Exact config = properties.getExact();
+        PackingResult upper = raceUnlessOptimal(instance);
+        int lowerBound = PackingBounds.lowerBound(instance);
+        // 분기 한정은 아이템마다 재귀 한 단계, 트럭 수 × 아이템 수 배열을 쓰므로 아이템이 많으면 탐색하지 않는다
+        if (instance.unitCount() > config.getMaxUnits() && upper.layout().truckCount() > lowerBound) return upper;
+        long deadline = System.nanoTime() + config.getTimeLimitMs() * 1_000_000L;
+        return new ExactPacker(instance, config.getNodeLimit(), deadline).solve(upper, lowerBound);
+    }
+
+    /** 종류 수가 packing.pattern.max-types를 넘으면 IllegalArgumentException. rollout 비교는 시간 예산 안에서만 한다. */
+    private PackingResult pattern(PackingInstance instance) {
+        PackingProperties.Pattern config = properties.getPattern();
+        if (instance.typeCount() > config.getMaxTypes()) {
+            throw new IllegalArgumentException("PATTERN 모드는 아이템 종류가 " + config.getMaxTypes()
+                    + "개 이하인 시나리오에만 사용할 수 있습니다");
+        }
+        long deadline = System.nanoTime() + config.getTimeLimitMs() * 1_000_000L;
+        return new PackingResult(new PatternPacker(instance, deadline).pack(), PatternPacker.STRATEGY);
+    }
+
+    /** 기본 휴리스틱 결과가 이미 하한과 같으면 다른 휴리스틱을 돌려도 나아질 수 없으므로 바로 돌려준다. */
+    private PackingResult raceUnlessOptimal(PackingInstance instance) {
+        PackingResult greedy = greedy(instance, PackingEngine.MAXRECTS);
+        if (greedy.layout().truckCount() <= PackingBounds.lowerBound(instance)) return greedy;
+        return race.run(instance, PackingHeuristic.all());
+    }
+
+    private PackingResult greedy(PackingInstance instance, PackingEngine engine) {
+        return greedy(instance, engine, instance.unitSequence());
+    }
+
+    private PackingResult greedy(PackingInstance instance, PackingEngine engine, int[] sequence) {
+        return greedy(instance, engine, sequence, TruckListener.NONE);
+    }
+
+    private PackingResult greedy(PackingInstance instance, PackingEngine engine, int[] sequence, TruckListener listener) {
+        return switch (engine) {
+            case SKYLINE -> new PackingResult(new SkylinePacker(instance).pack(sequence, listener), "SKYLINE/AREA_DESC");
+            case GUILLOTINE -> new PackingResult(new GuillotinePacker(instance).pack(sequence, listener), "GUILLOTINE/AREA_DESC");
+            default -> new PackingResult(new MaxRectsPacker(instance).pack(sequence, listener), PackingHeuristic.DEFAULT.label());
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.hamsetech.hamsetech.scenario;
+
+import jakarta.persistence.*;
+
+/**
+ * 시나리오에서 쓸 수 있는 트럭 종류 (예: 1톤, 2.5톤, 5톤). 대당 비용과 가용 대수를 가진다.
+ */
+@Entity
+@Table(name = "packing_truck_types")
+public class PackingTruckType {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "scenario_id", nullable = false)
+    private PackingScenario scenario;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false)
+    private Integer height;
+
+    @Column(nullable = false)
+    private Long cost;
+
+    // null이면 대수 제한 없음
+    @Column(name = "available_count")
+    private Integer availableCount;
+
+    // Constructors
+    public PackingTruckType() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PackingScenario getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(PackingScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Long getCost() {
+        return cost;
+    }
+
+    public void setCost(Long cost) {
+        this.cost = cost;
+    }
+
+    public Integer getAvailableCount() {
+        return availableCount;
+    }
+
+    public void setAvailableCount(Integer availableCount) {
+        this.availableCount = availableCount;
+    }
+}
@@ -0,0 +1,247 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 아이템 종류는 적고 수량이 많은 시나리오용 패턴 기반 패커 (cutting stock 방식).
+ *
+ * 트럭 한 대에 싣는 종류별 수량 벡터를 패턴이라 하고, 패턴과 그 사용 횟수(트럭 대수)를 골라 전체 수량을 채운다.
+ * <ul>
+ *   <li>패턴 생성: 남은 수량에 대해 여러 종류 순서(정렬 기준별, 각 종류를 맨 앞에 둔 면적순)로 빈 트럭 하나를 채운다.
+ *       트럭 한 대에 들어가는 만큼만 배치하므로 비용은 종류 수와 트럭 용량에 비례하고 전체 수량과 무관하다.</li>
+ *   <li>패턴 선택: 남은 수량으로 잘라낸(capped) 패턴 중 실은 면적이 큰 순으로 후보 몇 개를 골라,
+ *       각 후보를 먼저 쓴 뒤 나머지를 같은 방식으로 끝까지 채웠을 때 트럭 수가 가장 적은 후보를 쓴다 (rollout).</li>
+ *   <li>사용 횟수: 고른 패턴을 남은 수량이 허락하는 만큼 한 번에 반복한다. 그래서 반복 횟수는 수량이 아니라
+ *       서로 다른 패턴 수에 비례한다.</li>
+ * </ul>
+ * 패턴의 일부 아이템을 빼도 여전히 실을 수 있으므로, 잘라낸 패턴의 배치는 원래 배치에서 종류별 앞쪽 아이템만 남긴 것이다.
+ * rollout 비용은 종류 수와 단계 수에 따라 빠르게 늘어나므로 시간 예산을 넘기면 비교 없이 첫 후보(실은 면적 최대)를 쓴다.
+ * 인스턴스는 상태를 가지므로 패킹 한 번에 하나씩 사용한다.
+ */
+final class PatternPacker {
+
+    static final String STRATEGY = "PATTERN/SHP";
+
+    // 단계마다 rollout으로 비교할 후보 패턴 수
+    private static final int ROLLOUT_CANDIDATES = 4;
+
+    private final PackingInstance instance;
+    private final long deadlineNanos;
+    private final MaxRectsPacker filler;
+    private final long[] unitArea;
+    // 빈 트럭 한 대에 들어갈 수 있는 종류별 최대 수량 (마진 포함 면적 기준)
+    private final int[] capacity;
+    private final List<int[]> orders = new ArrayList<>();
+
+    // 생성한 패턴 (종류별 수량 → 배치)과 패턴을 이미 만든 남은 수량 (트럭 한 대 용량으로 잘라낸 값)
+    private final Map<Key, Pattern> pool = new HashMap<>();
+    private final Set<Key> generated = new HashSet<>();
+
+    /** 트럭 한 대 분량의 배치 (트럭 번호 0)와 종류별 수량 */
+    private record Pattern(int[] counts, PackingLayout layout) {}
+
+    /** 패턴 하나를 times대에 반복해 쓰는 단계 */
+    private record Step(Pattern pattern, int[] counts, long times) {}
+
+    private record Key(int[] values) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Arrays.equals(k.values, values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    PatternPacker(PackingInstance instance) {
+        this(instance, Long.MAX_VALUE);
+    }
+
+    /** @param deadlineNanos 이 시각(System.nanoTime 기준)이 지나면 rollout 비교를 멈춘다 */
+    PatternPacker(PackingInstance instance, long deadlineNanos) {
+        this.instance = instance;
+        this.deadlineNanos = deadlineNanos;
+        this.filler = new MaxRectsPacker(instance);
+        int n = instance.typeCount();
+        int m = instance.margin();
+        this.unitArea = new long[n];
+        this.capacity = new int[n];
+        long binArea = (long) instance.binWidth() * instance.binHeight();
+        for (int t = 0; t < n; t++) {
+            unitArea[t] = (long) (instance.widths()[t] + m) * (instance.heights()[t] + m);
+            capacity[t] = (int) Math.min(Integer.MAX_VALUE, binArea / unitArea[t]);
+        }
+        for (SortOrder sortOrder : SortOrder.values()) {
+            addOrder(instance.typeOrder(sortOrder));
+        }
+        int[] byArea = instance.typeOrder(SortOrder.AREA_DESC);
+        for (int first : byArea) {
+            int[] order = new int[n];
+            order[0] = first;
+            int k = 1;
+            for (int t : byArea) {
+                if (t != first) order[k++] = t;
+            }
+            addOrder(order);
+        }
+    }
+
+    private void addOrder(int[] order) {
+        for (int[] existing : orders) {
+            if (Arrays.equals(existing, order)) return;
+        }
+        orders.add(order);
+    }
+
+    PackingLayout pack() {
+        instance.requireAllFit();
+        int lowerBound = PackingBounds.lowerBound(instance);
+        int[] remaining = instance.quantities().clone();
+        List<Step> steps = new ArrayList<>();
+        long trucks = 0;
+        while (!isEmpty(remaining)) {
+            List<Step> candidates = candidates(remaining);
+            Step chosen = candidates.get(0);
+            if (candidates.size() > 1 && System.nanoTime() < deadlineNanos) {
+                long bestTotal = Long.MAX_VALUE;
+                for (Step candidate : candidates) {
+                    long rest = rollout(apply(remaining, candidate));
+                    // 예산을 넘기면 지금까지 비교한 후보 중 가장 좋은 것 (없으면 첫 후보)
+                    if (rest < 0) break;
+                    long total = trucks + candidate.times() + rest;
+                    if (total < bestTotal) {
+                        bestTotal = total;
+                        chosen = candidate;
+                    }
+                    // 하한에 도달하면 더 비교할 필요가 없다
+                    if (total <= lowerBound) break;
+                }
+            }
+            steps.add(chosen);
+            trucks += chosen.times();
+            remaining = apply(remaining, chosen);
+        }
+        return toLayout(steps, trucks);
+    }
+
+    /** 남은 수량을 가장 좋은 후보만 따라 끝까지 채웠을 때의 트럭 수. 도중에 시간 예산을 넘기면 -1 */
+    private long rollout(int[] remaining) {
+        long trucks = 0;
+        while (!isEmpty(remaining)) {
+            if (System.nanoTime() > deadlineNanos) return -1;
+            Step step = candidates(remaining).get(0);
+            trucks += step.times();
+            remaining = apply(remaining, step);
+        }
+        return trucks;
+    }
+
+    /** 남은 수량으로 잘라낸 패턴들을 실은 면적 내림차순으로 최대 ROLLOUT_CANDIDATES개 */
+    private List<Step> candidates(int[] remaining) {
+        generate(remaining);
+        List<Step> steps = new ArrayList<>();
+        for (Pattern pattern : pool.values()) {
+            int[] counts = new int[remaining.length];
+            long times = Long.MAX_VALUE;
+            for (int t = 0; t < remaining.length; t++) {
+                counts[t] = Math.min(pattern.counts()[t], remaining[t]);
+                if (counts[t] > 0) times = Math.min(times, remaining[t] / counts[t]);
+            }
+            if (times == Long.MAX_VALUE) continue;
+            steps.add(new Step(pattern, counts, times));
+        }
+        steps.sort(Comparator.comparingLong((Step s) -> -area(s.counts()))
+                .thenComparingLong(s -> -s.times())
+                .thenComparing(s -> new Key(s.counts()), PatternPacker::compareKeys));
+
+        // 잘라낸 수량이 같은 후보는 하나만 남긴다
+        List<Step> unique = new ArrayList<>();
+        for (Step step : steps) {
+            if (unique.size() == ROLLOUT_CANDIDATES) break;
+            boolean duplicate = false;
+            for (Step u : unique) {
+                if (Arrays.equals(u.counts(), step.counts())) duplicate = true;
+            }
+            if (!duplicate) unique.add(step);
+        }
+        return unique;
+    }
+
+    // 정렬 결과가 패턴 생성 순서(HashMap 순회 순서)에 흔들리지 않도록 수량 벡터로 마지막 순서를 정한다
+    private static int compareKeys(Key a, Key b) {
+        return Arrays.compare(a.values(), b.values());
+    }
+
+    /**
+     * 남은 수량(트럭 한 대 용량으로 잘라낸 값)마다 한 번만 종류 순서별로 빈 트럭을 채워 패턴을 만든다.
+     * 트럭 한 대에는 용량보다 많이 실을 수 없으므로 잘라내도 채운 결과는 같고, 수량이 많이 남은 동안은 같은 키가 된다.
+     */
+    private void generate(int[] remaining) {
+        int[] capped = new int[remaining.length];
+        for (int t = 0; t < remaining.length; t++) capped[t] = Math.min(remaining[t], capacity[t]);
+        if (!generated.add(new Key(capped))) return;
+        for (int[] order : orders) {
+            int[] left = capped.clone();
+            PackingLayout layout = new PackingLayout();
+            filler.fillOne(order, left, layout, 0);
+            int[] counts = new int[capped.length];
+            for (int t = 0; t < capped.length; t++) counts[t] = capped[t] - left[t];
+            pool.putIfAbsent(new Key(counts), new Pattern(counts, layout));
+        }
+    }
+
+    private int[] apply(int[] remaining, Step step) {
+        int[] next = remaining.clone();
+        for (int t = 0; t < next.length; t++) {
+            next[t] -= (int) (step.counts()[t] * step.times());
+        }
+        return next;
+    }
+
+    private long area(int[] counts) {
+        long area = 0;
+        for (int t = 0; t < counts.length; t++) area += unitArea[t] * counts[t];
+        return area;
+    }
+
+    private static boolean isEmpty(int[] remaining) {
+        for (int r : remaining) {
+            if (r > 0) return false;
+        }
+        return true;
+    }
+
+    /** 단계별 패턴을 사용 횟수만큼 트럭 번호를 바꿔 복사한다. 잘라낸 패턴은 종류별 앞쪽 배치만 쓴다. */
+    private PackingLayout toLayout(List<Step> steps, long trucks) {
+        if (trucks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("아이템 수량이 너무 많습니다");
+        }
+        PackingLayout out = new PackingLayout((int) instance.unitCount());
+        int truck = 0;
+        int[] taken = new int[instance.typeCount()];
+        for (Step step : steps) {
+            PackingLayout source = step.pattern().layout();
+            for (long r = 0; r < step.times(); r++) {
+                Arrays.fill(taken, 0);
+                for (int i = 0; i < source.size(); i++) {
+                    int type = source.type(i);
+                    if (taken[type] == step.counts()[type]) continue;
+                    taken[type]++;
+                    out.place(type, source.x(i), source.y(i), source.width(i), source.height(i),
+                            source.rotated(i), truck);
+                }
+                truck++;
+            }
+        }
+        return out;
+    }
+}
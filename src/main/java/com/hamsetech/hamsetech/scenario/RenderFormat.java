@@ -0,0 +1,29 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 적재 배치 이미지 형식. GET /api/scenarios/{id}/render?format=... 로 선택한다.
+ */
+public enum RenderFormat {
+    /** 벡터 이미지 (기본값, 크기가 작고 확대해도 선명함) */
+    SVG(MediaType.parseMediaType("image/svg+xml"), "svg"),
+    /** Java2D로 그린 비트맵 (SVG를 열 수 없는 메신저 등에 전달용) */
+    PNG(MediaType.IMAGE_PNG, "png");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    RenderFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,95 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 수십만 개 이상의 아이템용 대규모 패킹 (mode=SCALE). 메모리 예산 안에서 가능한 방식을 고른다.
+ * <ul>
+ *   <li>전체 배치(열 단위 int 배열)와 MaxRects 작업 공간이 예산 안에 들어가면 MaxRects로 전체 배치를 만든다.
+ *       결과는 다른 모드처럼 캐시/저장할 수 있다.</li>
+ *   <li>들어가지 않으면 더 빠른 Skyline으로 바꾸고, 트럭을 닫을 때마다 배치를 listener로 내보낸 뒤 비운다.
+ *       메모리에는 배치 순서(아이템당 int 하나)와 트럭 한 대 분량의 배치만 남는다.</li>
+ * </ul>
+ * 필요한 메모리는 아이템 수와 트럭 한 대에 들어갈 수 있는 최대 아이템 수로 추정한다.
+ */
+final class ScalePacker {
+
+    static final String STRATEGY_RETAINED = "SCALE/MAXRECTS";
+    static final String STRATEGY_STREAMING = "SCALE/SKYLINE";
+
+    // MaxRects 빈 공간 색인의 트럭 내 아이템당 작업 공간 추정치 (빈 공간 약 4개 × 좌표/색인 배열)
+    private static final int MAXRECTS_BYTES_PER_TRUCK_ITEM = 160;
+    // Skyline 윤곽선 구간 하나 (int 3개)
+    private static final int SKYLINE_BYTES_PER_TRUCK_ITEM = 3 * Integer.BYTES;
+
+    /** 트럭 단위로 내보낸 결과 요약 (전체 배치는 남기지 않음) */
+    record Summary(int count, double utilization, String strategy) {}
+
+    private final PackingInstance instance;
+    private final long budgetBytes;
+    private final long units;
+    private final long perTruck;
+
+    ScalePacker(PackingInstance instance, long budgetBytes) {
+        this.instance = instance;
+        this.budgetBytes = budgetBytes;
+        this.units = instance.unitCount();
+        this.perTruck = maxItemsPerTruck();
+    }
+
+    /**
+     * 예산 안에서 쓸 방식: 전체 배치를 두는 MaxRects가 들어가면 true, 트럭 단위로 내보내는 Skyline만 들어가면 false,
+     * 둘 다 넘으면 IllegalArgumentException.
+     */
+    boolean retainsLayout() {
+        if (retainedBytes() <= budgetBytes) return true;
+        if (streamingBytes() <= budgetBytes) return false;
+        throw new IllegalArgumentException("아이템 수량이 메모리 한도를 넘습니다");
+    }
+
+    long retainedBytes() {
+        return units * (Integer.BYTES + PackingLayout.BYTES_PER_PLACEMENT) + perTruck * MAXRECTS_BYTES_PER_TRUCK_ITEM;
+    }
+
+    long streamingBytes() {
+        return units * Integer.BYTES + perTruck * (PackingLayout.BYTES_PER_PLACEMENT + SKYLINE_BYTES_PER_TRUCK_ITEM);
+    }
+
+    /** 예산 안에서 전체 배치를 만든다. 예산을 넘으면 IllegalArgumentException (packStreaming을 써야 함) */
+    PackingResult packRetained() {
+        if (!retainsLayout()) {
+            throw new IllegalArgumentException("적재 결과가 메모리 한도를 넘습니다. 적재 계산(/pack, /pack-stream)으로 요청해주세요");
+        }
+        return new PackingResult(new MaxRectsPacker(instance).pack(instance.unitSequence()), STRATEGY_RETAINED);
+    }
+
+    /**
+     * 트럭을 닫을 때마다 listener에 알리고 그 트럭의 배치를 버린다. 트럭 한 대 분량만 남기는 방식도 예산을 넘으면
+     * IllegalArgumentException.
+     */
+    Summary packStreaming(TruckListener listener) {
+        retainsLayout();
+        instance.requireAllFit();
+        long[] placedArea = {0};
+        PackingLayout window = new PackingLayout((int) Math.min(perTruck, 1 << 16));
+        PackingLayout layout = new SkylinePacker(instance).pack(instance.unitSequence(), window, (out, truck, from, to) -> {
+            listener.truckClosed(out, truck, from, to);
+            for (int i = from; i < to; i++) placedArea[0] += (long) out.width(i) * out.height(i);
+            out.clear();
+        });
+        int count = layout.truckCount();
+        double utilization = count == 0 ? 0
+                : placedArea[0] / ((double) instance.binWidth() * instance.binHeight() * count);
+        return new Summary(count, utilization, STRATEGY_STREAMING);
+    }
+
+    /** 트럭 한 대에 들어갈 수 있는 아이템 수 상한 (가장 작은 아이템의 마진 포함 면적 기준) */
+    private long maxItemsPerTruck() {
+        long minArea = Long.MAX_VALUE;
+        int m = instance.margin();
+        for (int t = 0; t < instance.typeCount(); t++) {
+            minArea = Math.min(minArea, (long) (instance.widths()[t] + m) * (instance.heights()[t] + m));
+        }
+        if (minArea == Long.MAX_VALUE) return 0;
+        long binArea = (long) instance.binWidth() * instance.binHeight();
+        return Math.min(units, binArea / Math.max(1, minArea));
+    }
+}
@@ -0,0 +1,137 @@
+package com.hamsetech.hamsetech.scenario;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오별로 계산해 둔 적재 결과. 조회 시 다시 계산하지 않도록 저장한다.
+ * geometryKey가 현재 시나리오의 기하 정보 해시와 같을 때만 유효하다.
+ */
+@Entity
+@Table(name = "packing_layouts")
+public class ScenarioLayout {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "scenario_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private PackingScenario scenario;
+
+    @Column(name = "geometry_key", nullable = false, length = 64)
+    private String geometryKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PackingMode mode;
+
+    // GREEDY 모드에서 요청한 엔진 (이전 버전에서 저장된 행은 null)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PackingEngine engine;
+
+    @Column(nullable = false, length = 100)
+    private String strategy;
+
+    @Column(name = "truck_count", nullable = false)
+    private Integer truckCount;
+
+    @Column(nullable = false)
+    private Double utilization;
+
+    // PackingLayoutCodec으로 인코딩한 배치 정보
+    @Column(nullable = false)
+    private byte[] placements;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ScenarioLayout() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public PackingScenario getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(PackingScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public String getGeometryKey() {
+        return geometryKey;
+    }
+
+    public void setGeometryKey(String geometryKey) {
+        this.geometryKey = geometryKey;
+    }
+
+    public PackingMode getMode() {
+        return mode;
+    }
+
+    public void setMode(PackingMode mode) {
+        this.mode = mode;
+    }
+
+    public PackingEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(PackingEngine engine) {
+        this.engine = engine;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public Integer getTruckCount() {
+        return truckCount;
+    }
+
+    public void setTruckCount(Integer truckCount) {
+        this.truckCount = truckCount;
+    }
+
+    public Double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(Double utilization) {
+        this.utilization = utilization;
+    }
+
+    public byte[] getPlacements() {
+        return placements;
+    }
+
+    public void setPlacements(byte[] placements) {
+        this.placements = placements;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
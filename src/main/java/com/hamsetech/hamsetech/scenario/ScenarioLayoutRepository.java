@@ -0,0 +1,19 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ScenarioLayoutRepository extends JpaRepository<ScenarioLayout, Long> {
+
+    Optional<ScenarioLayout> findByScenarioId(Long scenarioId);
+
+    @Modifying
+    @Query("DELETE FROM ScenarioLayout l WHERE l.scenario.id = :scenarioId")
+    int deleteByScenarioId(@Param("scenarioId") Long scenarioId);
+}
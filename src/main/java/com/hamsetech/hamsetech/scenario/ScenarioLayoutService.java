@@ -0,0 +1,65 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 시나리오별 적재 결과 저장소(packing_layouts). 조회 경로에서 패킹 연산을 없애기 위해 계산 결과를 보관하고,
+ * 기하 정보(트럭 크기, 마진, 회전, 아이템)가 바뀔 때만 무효화한다.
+ */
+@Service
+@Transactional
+public class ScenarioLayoutService {
+
+    private final ScenarioLayoutRepository repository;
+
+    public ScenarioLayoutService(ScenarioLayoutRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * 현재 기하 정보로 계산된 저장 결과. mode가 null이면 모드/엔진과 관계없이 저장된 결과를 돌려준다.
+     * 기하 해시가 같으면 아이템 종류 배열도 같으므로 저장된 종류 인덱스를 현재 입력에 그대로 적용할 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PackingResult> find(@NonNull Long scenarioId, PackingInstance instance,
+                                        PackingMode mode, PackingEngine engine) {
+        return repository.findByScenarioId(scenarioId)
+                .filter(l -> l.getGeometryKey().equals(instance.geometryKey()))
+                .filter(l -> mode == null || (l.getMode() == mode && l.getEngine() == engine))
+                .map(l -> new PackingResult(PackingLayoutCodec.decode(l.getPlacements()).layout(), l.getStrategy(),
+                        ExactPacker.isProven(l.getStrategy())));
+    }
+
+    /**
+     * 기하 정보가 바뀌기 전에 저장된 결과 (부분 재계산용). 트럭 설정이 바뀌면 저장된 결과를 지우므로
+     * 남아 있는 이전 결과는 현재와 같은 트럭에 대해 계산된 것이다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PackingLayoutCodec.Decoded> findPrevious(@NonNull Long scenarioId, PackingInstance instance) {
+        return repository.findByScenarioId(scenarioId)
+                .filter(l -> !l.getGeometryKey().equals(instance.geometryKey()))
+                .map(l -> PackingLayoutCodec.decode(l.getPlacements()));
+    }
+
+    public void save(PackingScenario scenario, PackingInstance instance, PackingMode mode, PackingEngine engine,
+                     PackingResult result) {
+        ScenarioLayout layout = repository.findByScenarioId(scenario.getId()).orElseGet(ScenarioLayout::new);
+        layout.setScenario(scenario);
+        layout.setGeometryKey(instance.geometryKey());
+        layout.setMode(mode);
+        layout.setEngine(engine);
+        layout.setStrategy(result.strategy());
+        layout.setTruckCount(result.layout().truckCount());
+        layout.setUtilization(result.layout().utilization(instance.binWidth(), instance.binHeight()));
+        layout.setPlacements(PackingLayoutCodec.encode(instance, result.layout()));
+        repository.save(layout);
+    }
+
+    public void invalidate(@NonNull Long scenarioId) {
+        repository.deleteByScenarioId(scenarioId);
+    }
+}
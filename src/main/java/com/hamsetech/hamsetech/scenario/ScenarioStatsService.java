@@ -0,0 +1,93 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 시나리오 목록용 적재 통계(트럭 수, 적재율, 하한)를 PackingScenario 컬럼에 유지한다.
+ * 생성/수정이 커밋된 뒤 scenarioStatsExecutor(단일 스레드)에서 계산하므로 저장 요청은 패킹을 기다리지 않고,
+ * 같은 시나리오의 갱신은 요청 순서대로 처리되어 마지막 상태가 남는다.
+ * 통계는 GREEDY/AUTO 결과이며 기하 정보가 그대로면 다시 계산하지 않는다.
+ */
+@Service
+public class ScenarioStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioStatsService.class);
+
+    private final PackingScenarioRepository scenarioRepository;
+    private final PackingService packingService;
+    private final ExecutorService executor;
+
+    public ScenarioStatsService(PackingScenarioRepository scenarioRepository, PackingService packingService,
+                                @Qualifier("scenarioStatsExecutor") ExecutorService executor) {
+        this.scenarioRepository = scenarioRepository;
+        this.packingService = packingService;
+        this.executor = executor;
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤(트랜잭션 밖이면 바로) 통계 갱신을 예약한다 */
+    public void refreshAfterCommit(Long scenarioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(scenarioId);
+                }
+            });
+        } else {
+            schedule(scenarioId);
+        }
+    }
+
+    /** 통계가 없는 기존 시나리오를 기동 후 채운다 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        var ids = scenarioRepository.findIdsWithoutPackingStats();
+        if (!ids.isEmpty()) logger.info("적재 통계 채우기 예약 - {}개 시나리오", ids.size());
+        ids.forEach(this::schedule);
+    }
+
+    private void schedule(Long scenarioId) {
+        try {
+            executor.execute(() -> refresh(scenarioId));
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 다음 기동 때 채우기 대상이 된다
+            logger.debug("적재 통계 갱신 예약 실패 - ID: {}", scenarioId);
+        }
+    }
+
+    void refresh(Long scenarioId) {
+        try {
+            PackingScenario scenario = scenarioRepository.findWithItemsById(scenarioId).orElse(null);
+            if (scenario == null) return;
+            PackingInstance instance = PackingInstance.of(scenario);
+            String geometryKey = instance.geometryKey();
+            if (geometryKey.equals(scenario.getStatsGeometryKey())) return;
+
+            Integer truckCount = null;
+            Double utilization = null;
+            Integer lowerBound = null;
+            try {
+                PackingLayout layout = packingService.pack(instance, PackingMode.GREEDY, PackingEngine.AUTO).layout();
+                truckCount = layout.truckCount();
+                utilization = layout.utilization(instance.binWidth(), instance.binHeight());
+                lowerBound = PackingBounds.lowerBound(instance);
+            } catch (IllegalArgumentException e) {
+                // 트럭에 들어가지 않는 아이템이 있으면 통계 없음으로 기록해 다시 계산하지 않는다
+                logger.debug("적재 통계 계산 불가 - ID: {}, 사유: {}", scenarioId, e.getMessage());
+            }
+            scenarioRepository.updatePackingStats(scenarioId, geometryKey, truckCount, utilization, lowerBound);
+        } catch (RuntimeException e) {
+            logger.warn("적재 통계 갱신 실패 - ID: {}, 오류: {}", scenarioId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 목록용 요약. 아이템 행을 읽지 않고 집계 쿼리 한 번으로 만든다 ({@link PackingScenarioRepository#findSummaries}).
+ * packed*는 저장 시 미리 계산해 둔 적재 통계이며 아직 계산되지 않았거나 계산할 수 없으면 null이다.
+ */
+public record ScenarioSummary(
+        Long id,
+        String name,
+        String description,
+        Boolean isFavorite,
+        Integer truckWidth,
+        Integer truckHeight,
+        Boolean allowRotate,
+        Integer margin,
+        Long itemTypeCount,
+        Long totalQuantity,
+        Integer packedTruckCount,
+        Double packedUtilization,
+        Integer packedLowerBound,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
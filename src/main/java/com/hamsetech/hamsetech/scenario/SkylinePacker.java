@@ -0,0 +1,174 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.Arrays;
+
+/**
+ * Skyline(Bottom-Left) 패커. 트럭에 쌓인 윤곽선을 (x, y, 너비) 구간 목록으로만 관리하므로
+ * MaxRects처럼 빈 공간 목록의 포함 관계를 매번 정리할 필요가 없다.
+ * 배치당 비용은 윤곽선 구간 수에 비례하고 구간 수는 트럭 하나의 아이템 수를 넘지 않아,
+ * 아이템이 매우 많은 시나리오에서도 전체 시간이 거의 선형으로 늘어난다.
+ * 윤곽선 아래에 생긴 빈틈은 다시 쓰지 않으므로 적재율은 MaxRects보다 약간 낮을 수 있다.
+ */
+final class SkylinePacker {
+
+    private final PackingInstance instance;
+    private final int binW;
+    private final int binH;
+    private final int margin;
+
+    // 윤곽선 구간: x 오름차순, 서로 맞닿아 [0, binW)를 덮는다
+    private int[] sx = new int[16];
+    private int[] sy = new int[16];
+    private int[] sw = new int[16];
+    private int segCount;
+
+    // findBestFit 결과
+    private int bestSegment;
+    private int bestX;
+    private int bestY;
+    private int bestOrientation;
+
+    SkylinePacker(PackingInstance instance) {
+        this.instance = instance;
+        this.binW = instance.binWidth();
+        this.binH = instance.binHeight();
+        this.margin = instance.margin();
+    }
+
+    PackingLayout pack(int[] sequence) {
+        return pack(sequence, TruckListener.NONE);
+    }
+
+    /** 트럭을 닫을 때마다 listener에 알리면서 패킹한다 (스트리밍 응답용) */
+    PackingLayout pack(int[] sequence, TruckListener listener) {
+        return pack(sequence, new PackingLayout(sequence.length), listener);
+    }
+
+    /**
+     * 배치를 layout에 이어 쓴다. listener가 트럭을 닫을 때 layout을 비우면({@link PackingLayout#clear()})
+     * 트럭 한 대 분량만 메모리에 두고 패킹할 수 있다.
+     */
+    PackingLayout pack(int[] sequence, PackingLayout layout, TruckListener listener) {
+        int truck = 0;
+        int truckStart = layout.size();
+        boolean truckUsed = false;
+        reset();
+
+        for (int type : sequence) {
+            int w = instance.widths()[type];
+            int h = instance.heights()[type];
+            if (!findBestFit(w + margin, h + margin)) {
+                if (truckUsed) {
+                    listener.truckClosed(layout, truck, truckStart, layout.size());
+                    truck++;
+                }
+                truckStart = layout.size();
+                reset();
+                bestOrientation = instance.firstFittingOrientation(type);
+                bestSegment = 0;
+                bestX = 0;
+                bestY = 0;
+            }
+
+            boolean rotated = bestOrientation == 1;
+            int displayW = rotated ? h : w;
+            int displayH = rotated ? w : h;
+            layout.place(type, bestX, bestY, displayW, displayH, rotated, truck);
+            truckUsed = true;
+            addSegment(bestSegment, bestX, bestY + displayH + margin, displayW + margin);
+        }
+        if (truckUsed) listener.truckClosed(layout, truck, truckStart, layout.size());
+        return layout;
+    }
+
+    private void reset() {
+        sx[0] = 0;
+        sy[0] = 0;
+        sw[0] = binW;
+        segCount = 1;
+    }
+
+    /** 위쪽 끝(y + h)이 가장 낮은 위치, 같으면 x가 작은 위치를 고른다. */
+    private boolean findBestFit(int packW, int packH) {
+        long bestTop = Long.MAX_VALUE;
+        int bestLeft = Integer.MAX_VALUE;
+        int orientations = instance.allowRotate() ? 2 : 1;
+        for (int o = 0; o < orientations; o++) {
+            int pw = o == 0 ? packW : packH;
+            int ph = o == 0 ? packH : packW;
+            for (int i = 0; i < segCount; i++) {
+                int y = fitAt(i, pw, ph);
+                if (y < 0) continue;
+                long top = (long) y + ph;
+                if (top < bestTop || (top == bestTop && sx[i] < bestLeft)) {
+                    bestTop = top;
+                    bestLeft = sx[i];
+                    bestSegment = i;
+                    bestX = sx[i];
+                    bestY = y;
+                    bestOrientation = o;
+                }
+            }
+        }
+        return bestTop != Long.MAX_VALUE;
+    }
+
+    /** 구간 i의 왼쪽 끝에 놓을 때의 y (들어가지 않으면 -1) */
+    private int fitAt(int i, int pw, int ph) {
+        if (sx[i] + pw > binW) return -1;
+        int y = 0;
+        int widthLeft = pw;
+        for (int j = i; widthLeft > 0; j++) {
+            y = Math.max(y, sy[j]);
+            if (y + ph > binH) return -1;
+            widthLeft -= sw[j];
+        }
+        return y;
+    }
+
+    /** 구간 index 위치에 새 구간 (x, y, w)를 넣고 가려진 구간을 잘라낸 뒤 높이가 같은 이웃을 합친다. */
+    private void addSegment(int index, int x, int y, int w) {
+        if (segCount == sx.length) {
+            int c = sx.length * 2;
+            sx = Arrays.copyOf(sx, c);
+            sy = Arrays.copyOf(sy, c);
+            sw = Arrays.copyOf(sw, c);
+        }
+        System.arraycopy(sx, index, sx, index + 1, segCount - index);
+        System.arraycopy(sy, index, sy, index + 1, segCount - index);
+        System.arraycopy(sw, index, sw, index + 1, segCount - index);
+        sx[index] = x;
+        sy[index] = y;
+        sw[index] = w;
+        segCount++;
+
+        int right = x + w;
+        int j = index + 1;
+        while (j < segCount && sx[j] < right) {
+            int segRight = sx[j] + sw[j];
+            if (segRight <= right) {
+                removeSegment(j);
+            } else {
+                sw[j] = segRight - right;
+                sx[j] = right;
+                break;
+            }
+        }
+
+        for (int i = 0; i + 1 < segCount; ) {
+            if (sy[i] == sy[i + 1]) {
+                sw[i] += sw[i + 1];
+                removeSegment(i + 1);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void removeSegment(int i) {
+        System.arraycopy(sx, i + 1, sx, i, segCount - i - 1);
+        System.arraycopy(sy, i + 1, sy, i, segCount - i - 1);
+        System.arraycopy(sw, i + 1, sw, i, segCount - i - 1);
+        segCount--;
+    }
+}
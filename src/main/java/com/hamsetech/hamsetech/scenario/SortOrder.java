@@ -0,0 +1,30 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 수량을 펼치기 전 아이템 종류의 정렬 기준. 모두 내림차순이며 같은 값이면 입력 순서를 유지한다.
+ */
+public enum SortOrder {
+    /** 면적 (packing.ts 기본 정렬) */
+    AREA_DESC,
+    /** 긴 변 */
+    LONG_SIDE_DESC,
+    /** 짧은 변 */
+    SHORT_SIDE_DESC,
+    /** 둘레 */
+    PERIMETER_DESC,
+    /** 가로 */
+    WIDTH_DESC,
+    /** 세로 */
+    HEIGHT_DESC;
+
+    long key(int width, int height) {
+        return switch (this) {
+            case AREA_DESC -> (long) width * height;
+            case LONG_SIDE_DESC -> Math.max(width, height);
+            case SHORT_SIDE_DESC -> Math.min(width, height);
+            case PERIMETER_DESC -> (long) width + height;
+            case WIDTH_DESC -> width;
+            case HEIGHT_DESC -> height;
+        };
+    }
+}
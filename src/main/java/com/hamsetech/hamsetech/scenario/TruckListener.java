@@ -0,0 +1,25 @@
+package com.hamsetech.hamsetech.scenario;
+
+/**
+ * 순차 패커가 트럭 하나를 닫을 때(새 트럭을 열거나 패킹이 끝날 때) 받는 알림.
+ * 순차 패커는 닫은 트럭에 다시 배치하지 않으므로 layout의 [from, to) 배치가 그 트럭의 최종 배치다.
+ * 알림은 패킹 스레드에서 바로 호출되므로 오래 걸리는 작업은 패킹도 그만큼 늦춘다.
+ */
+@FunctionalInterface
+interface TruckListener {
+
+    TruckListener NONE = (layout, truck, from, to) -> { };
+
+    void truckClosed(PackingLayout layout, int truck, int from, int to);
+
+    /** 이미 끝난 결과의 트럭을 순서대로 알린다 (배치는 트럭 번호 순으로 모여 있어야 한다) */
+    static void replay(PackingLayout layout, TruckListener listener) {
+        int from = 0;
+        for (int i = 1; i <= layout.size(); i++) {
+            if (i == layout.size() || layout.truck(i) != layout.truck(from)) {
+                listener.truckClosed(layout, layout.truck(from), from, i);
+                from = i;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.hamsetech.hamsetech.scenario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 아주 작은 인스턴스에서 EXACT 결과를 전수 탐색 최적해와 비교한다 */
+class ExactPackerTest {
+
+    @Test
+    void stacksItemsByHeight() {
+        // 6x4 트럭에 4x2 아래로 5x1 두 개(y=2, 3)를 쌓으면 한 대. 휴리스틱은 두 대를 쓰고,
+        // y 좌표 후보를 아이템 높이(1, 2)가 아닌 폭의 부분합으로 만들면 y=3이 빠져 두 대가 최적이라고 잘못 증명한다
+        PackingInstance instance = instance(6, 4, true, 0, new int[]{5, 4}, new int[]{1, 2}, new int[]{2, 1});
+        PackingResult result = solve(instance);
+        assertEquals(1, result.layout().truckCount());
+        assertTrue(result.provenOptimal());
+        PackingAssertions.assertValidLayout(instance, result.layout(), "6x4");
+    }
+
+    @Test
+    void matchesBruteForceOnTinyInstances() {
+        Random random = new Random(14);
+        for (int run = 0; run < 400; run++) {
+            PackingInstance instance = randomInstance(random);
+            String where = "run " + run + " " + describe(instance);
+            PackingResult result = solve(instance);
+            assertTrue(result.provenOptimal(), where + ": 예산 안에서 증명하지 못했습니다");
+            assertEquals(BruteForce.minTrucks(instance), result.layout().truckCount(), where);
+            PackingAssertions.assertValidLayout(instance, result.layout(), where);
+        }
+    }
+
+    @Test
+    void serviceSkipsSearchAboveMaxUnits() {
+        // 10x10 트럭에 4x4 (회전 불가)는 4개씩만 들어가지만 면적 하한은 6개씩으로 본다.
+        // max-units를 넘으면 분기 한정(아이템마다 재귀 한 단계)을 건너뛰고 휴리스틱 결과를 증명 없이 돌려준다
+        PackingProperties properties = new PackingProperties();
+        properties.getExact().setMaxUnits(100);
+        // 예산을 사실상 없애 둔다. 한도를 무시하고 탐색하면 이 테스트는 끝나지 않는다
+        properties.getExact().setNodeLimit(Long.MAX_VALUE);
+        properties.getExact().setTimeLimitMs(600_000);
+        PackingService service = new PackingService(ForkJoinPool.commonPool(),
+                new PackingResultCache(properties, new SimpleMeterRegistry()), properties);
+        PackingInstance instance = instance(10, 10, false, 0, new int[]{4}, new int[]{4}, new int[]{101});
+        PackingResult result = service.pack(instance, PackingMode.EXACT, PackingEngine.MAXRECTS);
+        assertEquals(26, result.layout().truckCount());
+        assertFalse(result.provenOptimal());
+        assertFalse(ExactPacker.isProven(result.strategy()));
+        PackingAssertions.assertValidLayout(instance, result.layout(), "max-units");
+    }
+
+    private static PackingResult solve(PackingInstance instance) {
+        PackingResult upper = new PackingResult(new MaxRectsPacker(instance).pack(instance.unitSequence()),
+                PackingHeuristic.DEFAULT.label());
+        return new ExactPacker(instance, Long.MAX_VALUE, Long.MAX_VALUE).solve(upper, PackingBounds.lowerBound(instance));
+    }
+
+    private static PackingInstance randomInstance(Random random) {
+        int binW = 3 + random.nextInt(5);
+        int binH = 3 + random.nextInt(5);
+        boolean allowRotate = random.nextBoolean();
+        int margin = random.nextInt(4) == 0 ? 1 : 0;
+        int types = 1 + random.nextInt(3);
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        int units = 0;
+        for (int t = 0; t < types; t++) {
+            widths[t] = 1 + random.nextInt(binW - margin);
+            heights[t] = 1 + random.nextInt(binH - margin);
+            quantities[t] = 1 + random.nextInt(Math.max(1, 6 - units - (types - t - 1)));
+            units += quantities[t];
+        }
+        return instance(binW, binH, allowRotate, margin, widths, heights, quantities);
+    }
+
+    private static PackingInstance instance(int binW, int binH, boolean allowRotate, int margin,
+                                            int[] widths, int[] heights, int[] quantities) {
+        int n = widths.length;
+        return new PackingInstance(binW, binH, allowRotate, margin, new long[n], new String[n], widths, heights, quantities);
+    }
+
+    private static String describe(PackingInstance instance) {
+        return instance.binWidth() + "x" + instance.binHeight() + " rotate=" + instance.allowRotate()
+                + " margin=" + instance.margin() + " w=" + Arrays.toString(instance.widths())
+                + " h=" + Arrays.toString(instance.heights()) + " q=" + Arrays.toString(instance.quantities());
+    }
+
+    /**
+     * 전수 탐색: 아이템을 트럭에 나누는 모든 방법(빈 트럭끼리의 대칭만 제거) 중 트럭마다 격자 배치가 가능한 최소 트럭 수.
+     * 트럭 한 대 판정은 가장 위-왼쪽 빈 칸에 남은 아이템 하나를 놓거나 그 칸을 비워 두는 완전 탐색이다.
+     */
+    private static final class BruteForce {
+
+        private final PackingInstance instance;
+        private final int[] units;
+        private final int[] binOf;
+        private final Map<String, Boolean> feasible = new HashMap<>();
+
+        private BruteForce(PackingInstance instance) {
+            this.instance = instance;
+            this.units = instance.unitSequence();
+            this.binOf = new int[units.length];
+        }
+
+        static int minTrucks(PackingInstance instance) {
+            BruteForce search = new BruteForce(instance);
+            for (int m = 1; ; m++) {
+                if (search.assign(0, 0, m)) return m;
+            }
+        }
+
+        private boolean assign(int k, int opened, int m) {
+            if (k == units.length) {
+                for (int b = 0; b < opened; b++) {
+                    if (!binFeasible(b)) return false;
+                }
+                return true;
+            }
+            for (int b = 0; b < Math.min(opened + 1, m); b++) {
+                binOf[k] = b;
+                if (assign(k + 1, Math.max(opened, b + 1), m)) return true;
+            }
+            return false;
+        }
+
+        private boolean binFeasible(int b) {
+            List<Integer> types = new ArrayList<>();
+            for (int k = 0; k < units.length; k++) {
+                if (binOf[k] == b) types.add(units[k]);
+            }
+            types.sort(null);
+            return feasible.computeIfAbsent(types.toString(), key -> {
+                int[] remaining = new int[instance.typeCount()];
+                for (int t : types) remaining[t]++;
+                return fill(new boolean[instance.binHeight()][instance.binWidth()], remaining, types.size());
+            });
+        }
+
+        private boolean fill(boolean[][] grid, int[] remaining, int left) {
+            if (left == 0) return true;
+            int cy = -1;
+            int cx = -1;
+            for (int y = 0; y < grid.length && cy < 0; y++) {
+                for (int x = 0; x < grid[y].length; x++) {
+                    if (!grid[y][x]) {
+                        cy = y;
+                        cx = x;
+                        break;
+                    }
+                }
+            }
+            if (cy < 0) return false;
+            int margin = instance.margin();
+            for (int t = 0; t < remaining.length; t++) {
+                if (remaining[t] == 0) continue;
+                int w = instance.widths()[t] + margin;
+                int h = instance.heights()[t] + margin;
+                int orientations = instance.allowRotate() && w != h ? 2 : 1;
+                for (int o = 0; o < orientations; o++) {
+                    int pw = o == 0 ? w : h;
+                    int ph = o == 0 ? h : w;
+                    if (!free(grid, cx, cy, pw, ph)) continue;
+                    mark(grid, cx, cy, pw, ph, true);
+                    remaining[t]--;
+                    boolean ok = fill(grid, remaining, left - 1);
+                    remaining[t]++;
+                    mark(grid, cx, cy, pw, ph, false);
+                    if (ok) return true;
+                }
+            }
+            // 이 칸은 비워 둔다
+            grid[cy][cx] = true;
+            boolean ok = fill(grid, remaining, left);
+            grid[cy][cx] = false;
+            return ok;
+        }
+
+        private static boolean free(boolean[][] grid, int x, int y, int w, int h) {
+            if (y + h > grid.length || x + w > grid[0].length) return false;
+            for (int dy = 0; dy < h; dy++) {
+                for (int dx = 0; dx < w; dx++) {
+                    if (grid[y + dy][x + dx]) return false;
+                }
+            }
+            return true;
+        }
+
+        private static void mark(boolean[][] grid, int x, int y, int w, int h, boolean value) {
+            for (int dy = 0; dy < h; dy++) {
+                for (int dx = 0; dx < w; dx++) grid[y + dy][x + dx] = value;
+            }
+        }
+    }
+}
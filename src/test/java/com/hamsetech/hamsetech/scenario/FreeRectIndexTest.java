@@ -0,0 +1,79 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** 격자 색인({@link FreeRectIndex})이 기준 구현({@link FreeRectList})과 같은 배치를 만드는지 */
+class FreeRectIndexTest {
+
+    @Test
+    void sameLayoutAsFreeRectList() {
+        Random random = new Random(7);
+        for (int run = 0; run < 300; run++) {
+            PackingInstance instance = randomInstance(random);
+            int[] sequence = instance.unitSequence();
+            for (FitRule rule : FitRule.values()) {
+                String where = "run " + run + " " + rule;
+                PackingLayout expected = new MaxRectsPacker(instance, rule, new FreeRectList()).pack(sequence);
+                PackingLayout actual = new MaxRectsPacker(instance, rule, new FreeRectIndex()).pack(sequence);
+                assertSameLayout(expected, actual, where);
+                PackingAssertions.assertValidLayout(instance, actual, where);
+            }
+        }
+    }
+
+    @Test
+    void manyFreeRectsInOneTruck() {
+        // 작은 아이템을 큰 트럭 한 대에 채워 빈 공간이 격자 셀 여러 개에 퍼지게 한다
+        Random random = new Random(11);
+        int types = 30;
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            widths[t] = 3 + random.nextInt(40);
+            heights[t] = 3 + random.nextInt(40);
+            quantities[t] = 20;
+        }
+        PackingInstance instance = new PackingInstance(800, 800, true, 1, new long[types], new String[types],
+                widths, heights, quantities);
+        PackingLayout expected = new MaxRectsPacker(instance, FitRule.BSSF, new FreeRectList()).pack(instance.unitSequence());
+        PackingLayout actual = new MaxRectsPacker(instance, FitRule.BSSF, new FreeRectIndex()).pack(instance.unitSequence());
+        assertSameLayout(expected, actual, "800x800");
+        PackingAssertions.assertValidLayout(instance, actual, "800x800");
+    }
+
+    private static PackingInstance randomInstance(Random random) {
+        int binW = 20 + random.nextInt(200);
+        int binH = 20 + random.nextInt(400);
+        int margin = random.nextInt(3) == 0 ? random.nextInt(4) : 0;
+        int types = 1 + random.nextInt(12);
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            // 같은 크기가 자주 나오도록 작은 값 집합에서 고른다 (동점 처리 확인)
+            widths[t] = Math.max(1, (binW - margin) / (1 + random.nextInt(6)));
+            heights[t] = Math.max(1, (binH - margin) / (1 + random.nextInt(8)));
+            quantities[t] = 1 + random.nextInt(15);
+        }
+        return new PackingInstance(binW, binH, random.nextBoolean(), margin, new long[types], new String[types],
+                widths, heights, quantities);
+    }
+
+    private static void assertSameLayout(PackingLayout expected, PackingLayout actual, String where) {
+        assertEquals(expected.size(), actual.size(), where + ": 배치 수");
+        assertEquals(expected.truckCount(), actual.truckCount(), where + ": 트럭 수");
+        for (int i = 0; i < expected.size(); i++) {
+            String at = where + ": 배치 " + i;
+            assertEquals(expected.type(i), actual.type(i), at);
+            assertEquals(expected.x(i), actual.x(i), at);
+            assertEquals(expected.y(i), actual.y(i), at);
+            assertEquals(expected.rotated(i), actual.rotated(i), at);
+            assertEquals(expected.truck(i), actual.truck(i), at);
+        }
+    }
+}
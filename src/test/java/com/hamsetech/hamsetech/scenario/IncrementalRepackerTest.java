@@ -0,0 +1,162 @@
+package com.hamsetech.hamsetech.scenario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalRepackerTest {
+
+    private static final int[] WIDTHS = {1200, 800, 600};
+    private static final int[] HEIGHTS = {2000, 1500, 900};
+
+    @Test
+    void unchangedInputKeepsEveryTruck() {
+        PackingInstance instance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(instance).pack(instance.unitSequence());
+        PackingLayout after = repack(instance, before, instance);
+
+        assertNotNull(after);
+        PackingAssertions.assertValidLayout(instance, after, "unchanged");
+        assertEquals(before.truckCount(), after.truckCount());
+        for (int k = 0; k < before.truckCount(); k++) {
+            assertEquals(truck(before, k), truck(after, k), "트럭 " + k);
+        }
+    }
+
+    @Test
+    void addedItemsFillAroundKeptPlacements() {
+        PackingInstance beforeInstance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(beforeInstance).pack(beforeInstance.unitSequence());
+        PackingInstance instance = instance(2400, 12000, 8, 10, 20);
+        PackingLayout after = repack(beforeInstance, before, instance);
+
+        assertNotNull(after);
+        PackingAssertions.assertValidLayout(instance, after, "added");
+        // 줄어든 아이템이 없으니 모든 트럭을 유지하고, 기존 배치는 움직이지 않은 채 앞에 그대로 남는다
+        for (int k = 0; k < before.truckCount(); k++) {
+            List<String> kept = truck(before, k);
+            assertEquals(kept, truck(after, k).subList(0, kept.size()), "트럭 " + k);
+        }
+    }
+
+    @Test
+    void removedItemEmptiesOnlyItsTruck() {
+        PackingInstance beforeInstance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(beforeInstance).pack(beforeInstance.unitSequence());
+        assertTrue(before.truckCount() > 1, "트럭이 여러 대여야 합니다");
+        PackingInstance instance = instance(2400, 12000, 7, 10, 12);
+        PackingLayout after = repack(beforeInstance, before, instance);
+
+        assertNotNull(after);
+        PackingAssertions.assertValidLayout(instance, after, "removed");
+        // 수량이 줄면 뒤쪽 배치부터 빠지므로 종류 0의 마지막 배치가 있던 트럭만 비운다
+        int touched = -1;
+        for (int i = 0; i < before.size(); i++) {
+            if (before.type(i) == 0) touched = before.truck(i);
+        }
+        List<List<String>> trucks = new ArrayList<>();
+        for (int k = 0; k < after.truckCount(); k++) trucks.add(truck(after, k));
+        for (int k = 0; k < before.truckCount(); k++) {
+            if (k == touched) continue;
+            int target = k < touched ? k : k - 1;
+            List<String> kept = truck(before, k);
+            assertEquals(kept, trucks.get(target).subList(0, kept.size()), "트럭 " + k);
+        }
+        assertTrue(after.truckCount() <= before.truckCount());
+    }
+
+    @Test
+    void typesAreMatchedBySize() {
+        PackingInstance beforeInstance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(beforeInstance).pack(beforeInstance.unitSequence());
+        // 종류 순서가 바뀌고 새 종류가 앞에 끼어도 (가로, 세로)가 같은 종류로 이어 붙인다
+        PackingInstance instance = new PackingInstance(2400, 12000, true, 10, new long[4], new String[4],
+                new int[]{500, 600, 1200, 800}, new int[]{500, 900, 2000, 1500},
+                new int[]{3, 12, 8, 10});
+        PackingLayout after = repack(beforeInstance, before, instance);
+
+        assertNotNull(after);
+        PackingAssertions.assertValidLayout(instance, after, "reordered");
+        int[] mapped = {2, 3, 1};
+        for (int k = 0; k < before.truckCount(); k++) {
+            List<String> kept = new ArrayList<>();
+            for (String p : truck(before, k)) {
+                int type = Integer.parseInt(p.substring(0, p.indexOf(':')));
+                kept.add(mapped[type] + p.substring(p.indexOf(':')));
+            }
+            assertEquals(kept, truck(after, k).subList(0, kept.size()), "트럭 " + k);
+        }
+    }
+
+    @Test
+    void smallerTruckReturnsNullAndServiceRepacks() {
+        PackingInstance beforeInstance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(beforeInstance).pack(beforeInstance.unitSequence());
+        PackingInstance instance = instance(2400, 6000, 8, 10, 12);
+        assertNull(repack(beforeInstance, before, instance));
+
+        PackingResult result = service(new PackingProperties()).repair(instance, decoded(beforeInstance, before),
+                PackingEngine.MAXRECTS);
+        assertNotEquals(IncrementalRepacker.STRATEGY, result.strategy());
+        PackingAssertions.assertValidLayout(instance, result.layout(), "smaller truck");
+    }
+
+    @Test
+    void gapIncreaseAboveThresholdFallsBackToFullPack() {
+        PackingInstance beforeInstance = instance(2400, 12000, 8, 10, 12);
+        PackingLayout before = new MaxRectsPacker(beforeInstance).pack(beforeInstance.unitSequence());
+        PackingInstance instance = instance(2400, 12000, 8, 10, 20);
+        PackingLayoutCodec.Decoded previous = decoded(beforeInstance, before);
+
+        PackingProperties lenient = new PackingProperties();
+        lenient.getIncremental().setMaxGapIncrease(10);
+        PackingResult repaired = service(lenient).repair(instance, previous, PackingEngine.MAXRECTS);
+        assertEquals(IncrementalRepacker.STRATEGY, repaired.strategy());
+        PackingAssertions.assertValidLayout(instance, repaired.layout(), "lenient");
+
+        // 음수 한도면 gap이 전혀 늘지 않아도 넘은 것으로 보고 전체를 다시 계산한다
+        PackingProperties strict = new PackingProperties();
+        strict.getIncremental().setMaxGapIncrease(-1);
+        PackingResult repacked = service(strict).repair(instance, previous, PackingEngine.MAXRECTS);
+        assertNotEquals(IncrementalRepacker.STRATEGY, repacked.strategy());
+        PackingAssertions.assertValidLayout(instance, repacked.layout(), "strict");
+    }
+
+    private static PackingInstance instance(int binW, int binH, int q0, int q1, int q2) {
+        return new PackingInstance(binW, binH, true, 10, new long[3], new String[3],
+                WIDTHS.clone(), HEIGHTS.clone(), new int[]{q0, q1, q2});
+    }
+
+    private static PackingLayoutCodec.Decoded decoded(PackingInstance instance, PackingLayout layout) {
+        return PackingLayoutCodec.decode(PackingLayoutCodec.encode(instance, layout));
+    }
+
+    private static PackingLayout repack(PackingInstance beforeInstance, PackingLayout before, PackingInstance instance) {
+        return new IncrementalRepacker(instance, decoded(beforeInstance, before)).repack();
+    }
+
+    private static PackingService service(PackingProperties properties) {
+        return new PackingService(ForkJoinPool.commonPool(),
+                new PackingResultCache(properties, new SimpleMeterRegistry()), properties);
+    }
+
+    /** 트럭 한 대의 배치를 배치 순서대로 "type:x:y:rotated"로 */
+    private static List<String> truck(PackingLayout layout, int k) {
+        List<String> placements = new ArrayList<>();
+        for (int i = 0; i < layout.size(); i++) {
+            if (layout.truck(i) == k) {
+                placements.add(layout.type(i) + ":" + layout.x(i) + ":" + layout.y(i) + ":" + layout.rotated(i));
+            }
+        }
+        return placements;
+    }
+}
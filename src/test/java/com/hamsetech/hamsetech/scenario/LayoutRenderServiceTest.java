@@ -0,0 +1,38 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class LayoutRenderServiceTest {
+
+    private final LayoutRenderService service = new LayoutRenderService(new PackingProperties());
+
+    @Test
+    void hashIsStableForSameInput() {
+        PackingInstance instance = instance(100, 200, 0);
+        PackingLayout layout = new MaxRectsPacker(instance).pack(instance.unitSequence());
+        assertEquals(service.hash(instance, layout, RenderFormat.SVG, 240, 4),
+                service.hash(instance(100, 200, 0), layout, RenderFormat.SVG, 240, 4));
+    }
+
+    @Test
+    void hashChangesWithTruckSizeEvenIfPlacementsDoNot() {
+        // 모두 첫 트럭에 들어가므로 배치는 같고 트럭 크기만 다르다
+        PackingInstance small = instance(100, 200, 0);
+        PackingInstance large = instance(120, 260, 0);
+        PackingLayout layout = new MaxRectsPacker(small).pack(small.unitSequence());
+        assertArrayEquals(PackingLayoutCodec.encode(small, layout), PackingLayoutCodec.encode(large, layout));
+        assertNotEquals(service.hash(small, layout, RenderFormat.SVG, 240, 4),
+                service.hash(large, layout, RenderFormat.SVG, 240, 4));
+        assertNotEquals(service.hash(small, layout, RenderFormat.SVG, 240, 4),
+                service.hash(instance(100, 200, 5), layout, RenderFormat.SVG, 240, 4));
+    }
+
+    private static PackingInstance instance(int binW, int binH, int margin) {
+        return new PackingInstance(binW, binH, true, margin, new long[]{1, 2}, new String[]{"A", "B"},
+                new int[]{30, 40}, new int[]{50, 20}, new int[]{2, 3});
+    }
+}
@@ -0,0 +1,128 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * frontend/src/utils/packing.ts의 packIntoTrucks를 그대로 옮긴 비교 기준 (코퍼스 parity 모드용).
+ * 서버 엔진과 달리 빈 공간을 목록으로만 두고, 배치마다 전체 쌍 포함 검사(pruneContained)를 하며,
+ * 점수가 같으면 목록에서 먼저 나온 빈 공간을 고른다. packing.ts를 바꾸면 이 클래스도 같이 바꿔야 한다.
+ */
+final class PackIntoTrucksReference {
+
+    /** packing.ts의 Rect (qty는 최소 1로 취급) */
+    record Rect(long id, int w, int h, int qty) {}
+
+    record Placed(long id, int x, int y, int w, int h, boolean rotated, int truck) {}
+
+    private record FreeRect(int x, int y, int w, int h) {}
+
+    private record Orientation(int displayW, int displayH, int packW, int packH, boolean rotated) {}
+
+    private PackIntoTrucksReference() {
+    }
+
+    static List<List<Placed>> pack(List<Rect> items, int binW, int binH, boolean allowRotate, int margin) {
+        if (binW <= 0 || binH <= 0) throw new IllegalArgumentException("Invalid truck size");
+
+        List<Rect> expanded = new ArrayList<>();
+        for (Rect it : items) {
+            int q = Math.max(1, it.qty());
+            for (int i = 0; i < q; i++) expanded.add(new Rect(it.id(), it.w(), it.h(), 1));
+        }
+        // 면적 큰 순 (Array.prototype.sort와 같은 안정 정렬)
+        expanded.sort(Comparator.comparingLong((Rect r) -> (long) r.w() * r.h()).reversed());
+
+        List<List<Placed>> trucks = new ArrayList<>();
+        List<Placed> currentTruck = new ArrayList<>();
+        List<FreeRect> freeRects = new ArrayList<>(List.of(new FreeRect(0, 0, binW, binH)));
+
+        for (Rect it : expanded) {
+            List<Orientation> orientations = new ArrayList<>();
+            orientations.add(new Orientation(it.w(), it.h(), it.w() + margin, it.h() + margin, false));
+            if (allowRotate) orientations.add(new Orientation(it.h(), it.w(), it.h() + margin, it.w() + margin, true));
+
+            // Best-Short-Side-Fit
+            FreeRect bestFree = null;
+            Orientation bestO = null;
+            long bestScore = Long.MAX_VALUE;
+            for (Orientation o : orientations) {
+                for (FreeRect free : freeRects) {
+                    if (o.packW() <= free.w() && o.packH() <= free.h()) {
+                        int leftoverW = free.w() - o.packW();
+                        int leftoverH = free.h() - o.packH();
+                        long score = (long) Math.min(leftoverW, leftoverH) * 10000 + Math.max(leftoverW, leftoverH);
+                        if (bestFree == null || score < bestScore) {
+                            bestFree = free;
+                            bestO = o;
+                            bestScore = score;
+                        }
+                    }
+                }
+            }
+
+            int x;
+            int y;
+            if (bestFree != null) {
+                x = bestFree.x();
+                y = bestFree.y();
+            } else {
+                if (!currentTruck.isEmpty()) trucks.add(currentTruck);
+                currentTruck = new ArrayList<>();
+                freeRects = new ArrayList<>(List.of(new FreeRect(0, 0, binW, binH)));
+                bestO = null;
+                for (Orientation o : orientations) {
+                    if (o.packW() <= binW && o.packH() <= binH) {
+                        bestO = o;
+                        break;
+                    }
+                }
+                if (bestO == null) throw new IllegalArgumentException("아이템이 트럭 크기보다 큽니다: " + it.id());
+                x = 0;
+                y = 0;
+            }
+            currentTruck.add(new Placed(it.id(), x, y, bestO.displayW(), bestO.displayH(), bestO.rotated(), trucks.size()));
+            freeRects = pruneContained(updateFreeRects(freeRects, x, y, bestO.packW(), bestO.packH()));
+        }
+        if (!currentTruck.isEmpty()) trucks.add(currentTruck);
+        return trucks;
+    }
+
+    private static List<FreeRect> updateFreeRects(List<FreeRect> freeRects, int px, int py, int pw, int ph) {
+        List<FreeRect> next = new ArrayList<>();
+        for (FreeRect free : freeRects) {
+            boolean overlap = free.x() < px + pw && free.x() + free.w() > px && free.y() < py + ph && free.y() + free.h() > py;
+            if (!overlap) {
+                next.add(free);
+                continue;
+            }
+            if (px > free.x()) next.add(new FreeRect(free.x(), free.y(), px - free.x(), free.h()));
+            if (px + pw < free.x() + free.w()) {
+                next.add(new FreeRect(px + pw, free.y(), free.x() + free.w() - (px + pw), free.h()));
+            }
+            if (py > free.y()) next.add(new FreeRect(free.x(), free.y(), free.w(), py - free.y()));
+            if (py + ph < free.y() + free.h()) {
+                next.add(new FreeRect(free.x(), py + ph, free.w(), free.y() + free.h() - (py + ph)));
+            }
+        }
+        next.removeIf(r -> r.w() <= 0 || r.h() <= 0);
+        return next;
+    }
+
+    // 다른 free rect에 완전히 포함된 rect 제거 (같은 rect가 둘이면 둘 다 지워지는 것도 packing.ts와 같다)
+    private static List<FreeRect> pruneContained(List<FreeRect> freeRects) {
+        List<FreeRect> kept = new ArrayList<>(freeRects.size());
+        for (int i = 0; i < freeRects.size(); i++) {
+            FreeRect r = freeRects.get(i);
+            boolean contained = false;
+            for (int j = 0; j < freeRects.size() && !contained; j++) {
+                FreeRect other = freeRects.get(j);
+                contained = i != j && other.x() <= r.x() && other.y() <= r.y()
+                        && other.x() + other.w() >= r.x() + r.w() && other.y() + other.h() >= r.y() + r.h();
+            }
+            if (!contained) kept.add(r);
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hamsetech.hamsetech.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 패킹 테스트 공용 검증 */
+final class PackingAssertions {
+
+    private PackingAssertions() {
+    }
+
+    /**
+     * 종류별 수량이 맞고, 모든 배치가 아이템 크기대로 트럭 안에 있으며 같은 트럭에서 겹치지 않는지 (마진 포함).
+     * 트럭 번호는 0부터 빈 번호 없이 이어져야 한다.
+     */
+    static void assertValidLayout(PackingInstance instance, PackingLayout layout, String where) {
+        int margin = instance.margin();
+        int[] placed = new int[instance.typeCount()];
+        boolean[] used = new boolean[layout.truckCount()];
+        for (int i = 0; i < layout.size(); i++) {
+            int t = layout.type(i);
+            placed[t]++;
+            used[layout.truck(i)] = true;
+            boolean rotated = layout.rotated(i);
+            int w = rotated ? instance.heights()[t] : instance.widths()[t];
+            int h = rotated ? instance.widths()[t] : instance.heights()[t];
+            assertTrue(!rotated || instance.allowRotate(), where + ": 회전 불가인데 회전된 배치 " + i);
+            assertTrue(layout.width(i) == w && layout.height(i) == h, where + ": 배치 " + i + " 크기가 아이템과 다릅니다");
+            assertTrue(layout.x(i) >= 0 && layout.y(i) >= 0
+                            && layout.x(i) + w + margin <= instance.binWidth() && layout.y(i) + h + margin <= instance.binHeight(),
+                    where + ": 배치 " + i + "가 트럭 밖에 있습니다");
+            for (int j = 0; j < i; j++) {
+                if (layout.truck(j) != layout.truck(i)) continue;
+                boolean overlap = layout.x(i) < layout.x(j) + layout.width(j) + margin && layout.x(j) < layout.x(i) + w + margin
+                        && layout.y(i) < layout.y(j) + layout.height(j) + margin && layout.y(j) < layout.y(i) + h + margin;
+                assertTrue(!overlap, where + ": 배치 " + j + ", " + i + "가 겹칩니다");
+            }
+        }
+        for (int t = 0; t < instance.typeCount(); t++) {
+            assertEquals(instance.quantities()[t], placed[t], where + ": 종류 " + t + " 수량");
+        }
+        for (int k = 0; k < used.length; k++) {
+            assertTrue(used[k], where + ": 빈 트럭 " + k);
+        }
+    }
+}
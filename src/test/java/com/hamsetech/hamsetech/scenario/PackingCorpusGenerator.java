@@ -0,0 +1,115 @@
+package com.hamsetech.hamsetech.scenario;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 품질 회귀 코퍼스(src/test/resources/packing-corpus) 생성기. 결과 파일은 저장소에 포함되어 있으므로 평소에는 실행할 필요가 없다.
+ * 2차원 bin packing 벤치마크의 표준 10개 클래스를 문헌의 생성 규칙대로 만든다 (회전 불가, 마진 0).
+ * <ul>
+ *   <li>클래스 I~VI (Berkey &amp; Wang): 정사각형 트럭과 균등 분포 아이템
+ *       (I 10/[1,10], II 30/[1,10], III 40/[1,35], IV 100/[1,35], V 100/[1,100], VI 300/[1,100])</li>
+ *   <li>클래스 VII~X (Martello &amp; Vigo): 100×100 트럭, 아이템 유형 1~4 중 하나가 70%, 나머지가 10%씩
+ *       (1: 넓고 낮음, 2: 좁고 높음, 3: 큼, 4: 작음)</li>
+ * </ul>
+ * 클래스마다 아이템 수 20, 40, 60, 80, 100별로 10개씩 만든다. 시드가 고정되어 다시 실행해도 같은 파일이 나온다.
+ * 실행: 테스트 클래스패스로 main을 실행하며 인자로 출력 디렉터리를 줄 수 있다.
+ */
+final class PackingCorpusGenerator {
+
+    static final int[] ITEM_COUNTS = {20, 40, 60, 80, 100};
+    static final int INSTANCES_PER_SIZE = 10;
+
+    private static final int[] BW_BIN = {10, 30, 40, 100, 100, 300};
+    private static final int[] BW_MAX_SIDE = {10, 10, 35, 35, 100, 100};
+
+    private PackingCorpusGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "src/test/resources/packing-corpus");
+        Files.createDirectories(dir);
+        for (int cls = 1; cls <= 10; cls++) {
+            List<String> lines = new ArrayList<>();
+            lines.add("# " + description(cls));
+            lines.add("# name binW binH wxh...");
+            Random random = new Random(2_000L + cls);
+            for (int n : ITEM_COUNTS) {
+                for (int k = 1; k <= INSTANCES_PER_SIZE; k++) {
+                    lines.add(instance(cls, n, k, random));
+                }
+            }
+            Files.write(dir.resolve(String.format("class%02d.txt", cls)), lines, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String description(int cls) {
+        if (cls <= 6) {
+            return "Berkey-Wang class " + roman(cls) + ": bin " + BW_BIN[cls - 1] + "x" + BW_BIN[cls - 1]
+                    + ", w,h ~ U[1," + BW_MAX_SIDE[cls - 1] + "]";
+        }
+        return "Martello-Vigo class " + roman(cls) + ": bin 100x100, item type " + (cls - 6) + " 70%, others 10% each";
+    }
+
+    private static String instance(int cls, int n, int k, Random random) {
+        int bin = cls <= 6 ? BW_BIN[cls - 1] : 100;
+        StringBuilder sb = new StringBuilder(String.format("c%02d_n%03d_%02d %d %d", cls, n, k, bin, bin));
+        for (int i = 0; i < n; i++) {
+            int w;
+            int h;
+            if (cls <= 6) {
+                w = uniform(random, 1, BW_MAX_SIDE[cls - 1]);
+                h = uniform(random, 1, BW_MAX_SIDE[cls - 1]);
+            } else {
+                int type = martelloVigoType(cls - 6, random);
+                int[] size = martelloVigoItem(type, bin, random);
+                w = size[0];
+                h = size[1];
+            }
+            sb.append(' ').append(w).append('x').append(h);
+        }
+        return sb.toString();
+    }
+
+    // 클래스의 주 유형이 70%, 나머지 세 유형이 10%씩
+    private static int martelloVigoType(int major, Random random) {
+        int r = random.nextInt(10);
+        if (r < 7) return major;
+        int other = r - 7;
+        int type = 1;
+        for (int t = 1; t <= 4; t++) {
+            if (t == major) continue;
+            if (other-- == 0) {
+                type = t;
+                break;
+            }
+        }
+        return type;
+    }
+
+    private static int[] martelloVigoItem(int type, int bin, Random random) {
+        return switch (type) {
+            case 1 -> new int[]{uniform(random, ceilDiv(2 * bin, 3), bin), uniform(random, 1, bin / 2)};
+            case 2 -> new int[]{uniform(random, 1, bin / 2), uniform(random, ceilDiv(2 * bin, 3), bin)};
+            case 3 -> new int[]{uniform(random, bin / 2, bin), uniform(random, bin / 2, bin)};
+            default -> new int[]{uniform(random, 1, bin / 2), uniform(random, 1, bin / 2)};
+        };
+    }
+
+    private static int uniform(Random random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    private static String roman(int n) {
+        return new String[]{"I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"}[n - 1];
+    }
+}
@@ -0,0 +1,282 @@
+package com.hamsetech.hamsetech.scenario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 품질 회귀 코퍼스 실행기. src/test/resources/packing-corpus의 인스턴스(Berkey-Wang/Martello-Vigo 10개 클래스, 회전 불가)를
+ * 서버의 모든 엔진으로 패킹해 트럭 수, 적재율, 시간을 build/reports/packing-corpus에 report.md와 runs.csv로 남긴다.
+ * 모든 결과는 배치가 올바른지(수량, 트럭 범위, 겹침)와 트럭 수가 하한 이상인지 검사하고, EXACT가 최소임을 증명한 인스턴스에서는
+ * 다른 엔진의 트럭 수가 그보다 적지 않은지도 검사한다.
+ * <p>
+ * parity 모드(-Pparity, 시스템 속성 packing.corpus.parity=true)는 프론트엔드 packIntoTrucks({@link PackIntoTrucksReference})도
+ * 같이 돌려 엔진별로 인스턴스마다 더 나은/같은/나쁜 수를 리포트에 넣고, 서버 기본 엔진(GREEDY/MAXRECTS)의 전체 트럭 수가
+ * packIntoTrucks보다 많으면 실패한다.
+ * 일반 test 태스크에서는 제외되며 ./gradlew packingCorpus 로 실행한다.
+ * <p>
+ * PATTERN은 종류가 적고 수량이 많은 입력용이라 종류가 100개에 가까운 코퍼스에서는 인스턴스당 수 초가 걸려 제외했다
+ * (해당 입력은 PatternPackerBenchmark가 다룬다).
+ */
+@Tag("corpus")
+class PackingCorpusTest {
+
+    private static final boolean PARITY = Boolean.getBoolean("packing.corpus.parity");
+    private static final Path REPORT_DIR = Path.of(System.getProperty("packing.corpus.report-dir", "build/reports/packing-corpus"));
+    private static final String REFERENCE = "packIntoTrucks";
+    // 리포트를 표준 출력으로도 보낼지 (packingCorpus 태스크에서만 켠다)
+    private static final boolean PRINT = Boolean.getBoolean("packing.corpus.print");
+
+    private record Config(String label, PackingMode mode, PackingEngine engine) {}
+
+    private static final List<Config> CONFIGS = List.of(
+            new Config("GREEDY/MAXRECTS", PackingMode.GREEDY, PackingEngine.MAXRECTS),
+            new Config("GREEDY/SKYLINE", PackingMode.GREEDY, PackingEngine.SKYLINE),
+            new Config("GREEDY/GUILLOTINE", PackingMode.GREEDY, PackingEngine.GUILLOTINE),
+            new Config("RACE", PackingMode.RACE, PackingEngine.MAXRECTS),
+            new Config("BLOCK", PackingMode.BLOCK, PackingEngine.MAXRECTS),
+            new Config("EXACT", PackingMode.EXACT, PackingEngine.MAXRECTS)
+    );
+
+    // JIT 워밍업에 쓰는 앞쪽 인스턴스 수
+    private static final int WARMUP_INSTANCES = 50;
+
+    private record CorpusInstance(String name, int cls, PackingInstance instance, List<PackIntoTrucksReference.Rect> items) {}
+
+    private record Run(CorpusInstance source, String config, int trucks, int lowerBound, double utilization, long nanos) {}
+
+    @Test
+    void packCorpus() throws IOException {
+        List<CorpusInstance> corpus = load();
+        assertEquals(PackingCorpusGenerator.ITEM_COUNTS.length * PackingCorpusGenerator.INSTANCES_PER_SIZE * 10, corpus.size());
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            PackingService service = service(pool);
+            // JIT 워밍업: 첫 실행 시간이 앞쪽 인스턴스에만 몰리지 않도록 한 번 돌리고 버린다
+            for (CorpusInstance source : corpus.subList(0, WARMUP_INSTANCES)) {
+                for (Config config : CONFIGS) service.pack(source.instance(), config.mode(), config.engine());
+                if (PARITY) reference(source);
+            }
+
+            List<Run> runs = new ArrayList<>();
+            for (CorpusInstance source : corpus) {
+                int lowerBound = PackingBounds.lowerBound(source.instance());
+                int proven = -1;
+                int from = runs.size();
+                for (Config config : CONFIGS) {
+                    long start = System.nanoTime();
+                    PackingResult result = service.pack(source.instance(), config.mode(), config.engine());
+                    long nanos = System.nanoTime() - start;
+                    PackingLayout layout = result.layout();
+                    PackingAssertions.assertValidLayout(source.instance(), layout, source.name() + " " + config.label());
+                    assertTrue(layout.truckCount() >= lowerBound,
+                            source.name() + " " + config.label() + ": 트럭 수가 하한보다 작습니다 (하한 계산 오류)");
+                    runs.add(new Run(source, config.label(), layout.truckCount(), lowerBound,
+                            layout.utilization(source.instance().binWidth(), source.instance().binHeight()), nanos));
+                    if (result.provenOptimal()) proven = layout.truckCount();
+                }
+                if (proven >= 0) {
+                    for (Run run : runs.subList(from, runs.size())) {
+                        assertTrue(run.trucks() >= proven, source.name() + " " + run.config() + ": 트럭 " + run.trucks()
+                                + "대로 EXACT가 증명한 최소 " + proven + "대보다 적습니다 (EXACT 증명 오류)");
+                    }
+                }
+                if (PARITY) {
+                    long start = System.nanoTime();
+                    List<List<PackIntoTrucksReference.Placed>> trucks = reference(source);
+                    long nanos = System.nanoTime() - start;
+                    PackingInstance instance = source.instance();
+                    long area = 0;
+                    for (List<PackIntoTrucksReference.Placed> truck : trucks) {
+                        for (PackIntoTrucksReference.Placed p : truck) area += (long) p.w() * p.h();
+                    }
+                    runs.add(new Run(source, REFERENCE, trucks.size(), lowerBound,
+                            (double) area / ((double) instance.binWidth() * instance.binHeight() * trucks.size()), nanos));
+                }
+            }
+
+            writeReport(runs);
+
+            if (PARITY) {
+                int server = totalTrucks(runs, CONFIGS.get(0).label());
+                int reference = totalTrucks(runs, REFERENCE);
+                assertTrue(server <= reference, "GREEDY/MAXRECTS 전체 트럭 수(" + server + ")가 packIntoTrucks(" + reference
+                        + ")보다 많습니다. " + REPORT_DIR.resolve("report.md") + " 참고");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** 캐시를 끈 실제 서비스. EXACT는 코퍼스 전체를 돌릴 수 있도록 인스턴스당 예산을 줄인다. */
+    private static PackingService service(ForkJoinPool pool) {
+        PackingProperties properties = new PackingProperties();
+        properties.getCache().setMaxEntries(0);
+        properties.getExact().setNodeLimit(200_000);
+        properties.getExact().setTimeLimitMs(200);
+        return new PackingService(pool, new PackingResultCache(properties, new SimpleMeterRegistry()), properties);
+    }
+
+    private static List<List<PackIntoTrucksReference.Placed>> reference(CorpusInstance source) {
+        PackingInstance instance = source.instance();
+        return PackIntoTrucksReference.pack(source.items(), instance.binWidth(), instance.binHeight(), false, 0);
+    }
+
+    private static int totalTrucks(List<Run> runs, String config) {
+        return runs.stream().filter(r -> r.config().equals(config)).mapToInt(Run::trucks).sum();
+    }
+
+    // ---------- 코퍼스 읽기 ----------
+
+    private static List<CorpusInstance> load() throws IOException {
+        List<CorpusInstance> corpus = new ArrayList<>();
+        for (int cls = 1; cls <= 10; cls++) {
+            String resource = String.format("/packing-corpus/class%02d.txt", cls);
+            try (InputStream in = PackingCorpusTest.class.getResourceAsStream(resource)) {
+                assertNotNull(in, resource + " 이 없습니다");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    corpus.add(parse(cls, line));
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * "이름 binW binH wxh ..." 한 줄. 서버 입력은 같은 크기의 아이템을 한 종류로 묶은 정규형(PackingInstance.of와 같은 순서)이고,
+     * packIntoTrucks 입력은 화면에서 입력한 것처럼 파일 순서의 아이템 목록이다.
+     */
+    private static CorpusInstance parse(int cls, String line) {
+        String[] parts = line.trim().split("\\s+");
+        int binW = Integer.parseInt(parts[1]);
+        int binH = Integer.parseInt(parts[2]);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        List<int[]> sizes = new ArrayList<>();
+        for (int i = 3; i < parts.length; i++) {
+            String[] wh = parts[i].split("x");
+            int w = Integer.parseInt(wh[0]);
+            int h = Integer.parseInt(wh[1]);
+            sizes.add(new int[]{w, h});
+            quantities.merge((long) w << 32 | h, 1, Integer::sum);
+        }
+        List<long[]> types = new ArrayList<>();
+        quantities.forEach((key, q) -> types.add(new long[]{key >>> 32, key & 0xffffffffL, q}));
+        types.sort(Comparator.<long[]>comparingLong(t -> t[0]).thenComparingLong(t -> t[1]).thenComparingLong(t -> t[2]));
+
+        int n = types.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        int[] qty = new int[n];
+        Map<Long, Long> idBySize = new LinkedHashMap<>();
+        for (int t = 0; t < n; t++) {
+            ids[t] = t + 1;
+            widths[t] = (int) types.get(t)[0];
+            heights[t] = (int) types.get(t)[1];
+            qty[t] = (int) types.get(t)[2];
+            names[t] = widths[t] + "x" + heights[t];
+            idBySize.put((long) widths[t] << 32 | heights[t], ids[t]);
+        }
+        List<PackIntoTrucksReference.Rect> items = new ArrayList<>(sizes.size());
+        for (int[] s : sizes) {
+            items.add(new PackIntoTrucksReference.Rect(idBySize.get((long) s[0] << 32 | s[1]), s[0], s[1], 1));
+        }
+        PackingInstance instance = new PackingInstance(binW, binH, false, 0, ids, names, widths, heights, qty);
+        return new CorpusInstance(parts[0], cls, instance, items);
+    }
+
+    // ---------- 리포트 ----------
+
+    private static void writeReport(List<Run> runs) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        List<String> labels = new ArrayList<>();
+        for (Config config : CONFIGS) labels.add(config.label());
+        if (PARITY) labels.add(REFERENCE);
+
+        StringBuilder csv = new StringBuilder("instance,class,config,trucks,lowerBound,utilization,ms\n");
+        for (Run run : runs) {
+            csv.append(run.source().name()).append(',').append(run.source().cls()).append(',').append(run.config())
+                    .append(',').append(run.trucks()).append(',').append(run.lowerBound())
+                    .append(',').append(String.format(Locale.ROOT, "%.4f", run.utilization()))
+                    .append(',').append(String.format(Locale.ROOT, "%.3f", run.nanos() / 1e6)).append('\n');
+        }
+        Files.writeString(REPORT_DIR.resolve("runs.csv"), csv.toString());
+
+        StringBuilder md = new StringBuilder("# 패킹 코퍼스 리포트\n\n");
+        md.append("인스턴스 ").append(runs.stream().map(r -> r.source().name()).distinct().count())
+                .append("개 (Berkey-Wang I~VI, Martello-Vigo VII~X, 회전 불가). 칸: Σ트럭 수 (Σ하한 대비 비율)\n\n");
+        md.append("## 클래스별 트럭 수\n\n| 클래스 | Σ하한 |");
+        for (String label : labels) md.append(' ').append(label).append(" |");
+        md.append("\n|---|---:|");
+        md.append("---:|".repeat(labels.size())).append('\n');
+        for (int cls = 1; cls <= 11; cls++) {
+            int c = cls;
+            List<Run> scoped = cls == 11 ? runs : runs.stream().filter(r -> r.source().cls() == c).toList();
+            int lowerBound = scoped.stream().filter(r -> r.config().equals(labels.get(0))).mapToInt(Run::lowerBound).sum();
+            md.append("| ").append(cls == 11 ? "**전체**" : String.valueOf(cls)).append(" | ").append(lowerBound).append(" |");
+            for (String label : labels) {
+                int trucks = totalTrucks(scoped, label);
+                md.append(String.format(Locale.ROOT, " %d (%.3f) |", trucks, (double) trucks / lowerBound));
+            }
+            md.append('\n');
+        }
+
+        md.append("\n## 엔진 요약\n\n| 엔진 | Σ트럭 | 하한 도달 | 평균 적재율 | 전체 ms | 최대 ms |");
+        if (PARITY) md.append(" packIntoTrucks 대비 (나음/같음/나쁨) |");
+        md.append("\n|---|---:|---:|---:|---:|---:|");
+        if (PARITY) md.append("---|");
+        md.append('\n');
+        Map<String, Integer> referenceTrucks = new LinkedHashMap<>();
+        for (Run run : runs) {
+            if (run.config().equals(REFERENCE)) referenceTrucks.put(run.source().name(), run.trucks());
+        }
+        for (String label : labels) {
+            List<Run> scoped = runs.stream().filter(r -> r.config().equals(label)).toList();
+            long optimal = scoped.stream().filter(r -> r.trucks() <= r.lowerBound()).count();
+            double utilization = scoped.stream().mapToDouble(Run::utilization).average().orElse(0);
+            double totalMs = scoped.stream().mapToLong(Run::nanos).sum() / 1e6;
+            double maxMs = scoped.stream().mapToLong(Run::nanos).max().orElse(0) / 1e6;
+            md.append(String.format(Locale.ROOT, "| %s | %d | %d/%d | %.3f | %.1f | %.2f |",
+                    label, totalTrucks(scoped, label), optimal, scoped.size(), utilization, totalMs, maxMs));
+            if (PARITY) {
+                int better = 0;
+                int equal = 0;
+                int worse = 0;
+                for (Run run : scoped) {
+                    int reference = referenceTrucks.get(run.source().name());
+                    if (run.trucks() < reference) better++;
+                    else if (run.trucks() == reference) equal++;
+                    else worse++;
+                }
+                md.append(' ').append(better).append('/').append(equal).append('/').append(worse).append(" |");
+            }
+            md.append('\n');
+        }
+        Files.writeString(REPORT_DIR.resolve("report.md"), md.toString());
+        if (PRINT) System.out.println(md);
+    }
+}
@@ -0,0 +1,91 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackingJobServiceTest {
+
+    private static final PackingInstance INSTANCE = new PackingInstance(100, 100, true, 0, new long[1], new String[1],
+            new int[]{10}, new int[]{10}, new int[]{1});
+
+    @Test
+    void cancelBeforeStartReleasesUserSlot() throws InterruptedException {
+        // 스레드 하나를 막아 두어 제출한 작업이 실행되지 않은 채 대기열에 남게 한다
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.submit(() -> {
+            blocker.await();
+            return null;
+        });
+        try {
+            PackingJobService service = service(executor, 2);
+            for (int round = 0; round < 3; round++) {
+                PackingJob first = service.submit("user", 1L, INSTANCE, this::pack);
+                PackingJob second = service.submit("user", 1L, INSTANCE, this::pack);
+                assertThrows(IllegalStateException.class, () -> service.submit("user", 1L, INSTANCE, this::pack));
+                service.cancel("user", first.getId());
+                service.cancel("user", second.getId());
+                assertEquals(PackingJob.Status.CANCELLED, first.getStatus());
+                assertEquals(PackingJob.Status.CANCELLED, second.getStatus());
+            }
+        } finally {
+            blocker.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void finishedJobsReleaseUserSlot() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            PackingJobService service = service(executor, 1);
+            for (int round = 0; round < 3; round++) {
+                PackingJob ok = service.submit("user", 1L, INSTANCE, this::pack);
+                awaitFinished(ok);
+                assertEquals(PackingJob.Status.SUCCEEDED, ok.getStatus());
+
+                PackingJob failed = service.submit("user", 1L, INSTANCE, instance -> {
+                    throw new IllegalArgumentException("잘못된 입력");
+                });
+                awaitFinished(failed);
+                assertEquals(PackingJob.Status.FAILED, failed.getStatus());
+
+                // Error로 끝나도 실패로 기록하고 자리를 돌려준다
+                PackingJob crashed = service.submit("user", 1L, INSTANCE, instance -> {
+                    throw new StackOverflowError();
+                });
+                awaitFinished(crashed);
+                assertEquals(PackingJob.Status.FAILED, crashed.getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PackingResult pack(PackingInstance instance) {
+        return new PackingResult(new MaxRectsPacker(instance).pack(instance.unitSequence()), "TEST");
+    }
+
+    private static PackingJobService service(ExecutorService executor, int maxPerUser) {
+        PackingProperties properties = new PackingProperties();
+        properties.getJobs().setMaxConcurrent(1);
+        properties.getJobs().setMaxPerUser(maxPerUser);
+        return new PackingJobService(executor, properties);
+    }
+
+    private static void awaitFinished(PackingJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.getStatus().isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "작업이 끝나지 않았습니다");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackingLayoutCodecTest {
+
+    @Test
+    void version2RoundTrip() {
+        Random random = new Random(20);
+        for (int run = 0; run < 100; run++) {
+            PackingInstance instance = randomInstance(random);
+            PackingLayout layout = new MaxRectsPacker(instance).pack(instance.unitSequence());
+            byte[] encoded = PackingLayoutCodec.encode(instance, layout);
+            assertEquals(PackingLayoutCodec.VERSION_2, encoded[0]);
+            assertDecoded(instance, layout, PackingLayoutCodec.decode(encoded), "run " + run);
+        }
+    }
+
+    @Test
+    void version2GroupsByTruck() {
+        PackingInstance instance = new PackingInstance(1000, 1000, true, 0, new long[2], new String[2],
+                new int[]{300, 200}, new int[]{400, 100}, new int[]{2, 2});
+        // 트럭이 섞인 순서로 만든 배치도 트럭 순서로 묶이고 트럭 안에서는 원래 순서를 유지한다
+        PackingLayout mixed = new PackingLayout(4);
+        mixed.place(0, 0, 0, 300, 400, false, 1);
+        mixed.place(1, 0, 0, 100, 200, true, 0);
+        mixed.place(0, 300, 0, 300, 400, false, 1);
+        mixed.place(1, 100, 0, 200, 100, false, 0);
+        PackingLayout expected = new PackingLayout(4);
+        expected.place(1, 0, 0, 100, 200, true, 0);
+        expected.place(1, 100, 0, 200, 100, false, 0);
+        expected.place(0, 0, 0, 300, 400, false, 1);
+        expected.place(0, 300, 0, 300, 400, false, 1);
+
+        PackingLayoutCodec.Decoded decoded = PackingLayoutCodec.decode(PackingLayoutCodec.encode(instance, mixed));
+        assertDecoded(instance, expected, decoded, "mixed");
+    }
+
+    @Test
+    void readsVersion1() {
+        Random random = new Random(1);
+        for (int run = 0; run < 100; run++) {
+            PackingInstance instance = randomInstance(random);
+            PackingLayout layout = new MaxRectsPacker(instance).pack(instance.unitSequence());
+            assertDecoded(instance, layout, PackingLayoutCodec.decode(encodeVersion1(instance, layout)), "run " + run);
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersionAndTruncatedData() {
+        assertThrows(IllegalArgumentException.class, () -> PackingLayoutCodec.decode(new byte[]{3, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> PackingLayoutCodec.decode(new byte[0]));
+
+        PackingInstance instance = randomInstance(new Random(7));
+        PackingLayout layout = new MaxRectsPacker(instance).pack(instance.unitSequence());
+        byte[] encoded = PackingLayoutCodec.encode(instance, layout);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> PackingLayoutCodec.decode(truncated));
+    }
+
+    /** 배치마다 type, x, y, truck을 행 단위로 쓰던 이전 형식 */
+    private static byte[] encodeVersion1(PackingInstance instance, PackingLayout layout) {
+        PackingLayoutCodec.Writer out = new PackingLayoutCodec.Writer(64);
+        out.writeByte(PackingLayoutCodec.VERSION_1);
+        out.writeVarInt(instance.typeCount());
+        for (int t = 0; t < instance.typeCount(); t++) {
+            out.writeVarInt(instance.widths()[t]);
+            out.writeVarInt(instance.heights()[t]);
+            out.writeVarInt(instance.quantities()[t]);
+        }
+        out.writeVarInt(layout.truckCount());
+        out.writeVarInt(layout.size());
+        for (int i = 0; i < layout.size(); i++) {
+            out.writeVarInt(layout.type(i) << 1 | (layout.rotated(i) ? 1 : 0));
+            out.writeVarInt(layout.x(i));
+            out.writeVarInt(layout.y(i));
+            out.writeVarInt(layout.truck(i));
+        }
+        return out.toByteArray();
+    }
+
+    private static void assertDecoded(PackingInstance instance, PackingLayout expected, PackingLayoutCodec.Decoded decoded,
+                                      String where) {
+        assertArrayEquals(instance.widths(), decoded.widths(), where);
+        assertArrayEquals(instance.heights(), decoded.heights(), where);
+        assertArrayEquals(instance.quantities(), decoded.quantities(), where);
+        PackingLayout actual = decoded.layout();
+        assertEquals(expected.size(), actual.size(), where);
+        assertEquals(expected.truckCount(), actual.truckCount(), where);
+        for (int i = 0; i < expected.size(); i++) {
+            String at = where + ", 배치 " + i;
+            assertEquals(expected.type(i), actual.type(i), at);
+            assertEquals(expected.x(i), actual.x(i), at);
+            assertEquals(expected.y(i), actual.y(i), at);
+            assertEquals(expected.width(i), actual.width(i), at);
+            assertEquals(expected.height(i), actual.height(i), at);
+            assertEquals(expected.rotated(i), actual.rotated(i), at);
+            assertEquals(expected.truck(i), actual.truck(i), at);
+        }
+    }
+
+    private static PackingInstance randomInstance(Random random) {
+        int types = 1 + random.nextInt(8);
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            widths[t] = 100 + random.nextInt(900);
+            heights[t] = 100 + random.nextInt(2000);
+            quantities[t] = 1 + random.nextInt(40);
+        }
+        return new PackingInstance(2400, 12000, random.nextBoolean(), 10, new long[types], new String[types],
+                widths, heights, quantities);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hamsetech.hamsetech.scenario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternPackerTest {
+
+    @Test
+    void layoutIsValid() {
+        Random random = new Random(15);
+        for (int run = 0; run < 50; run++) {
+            PackingInstance instance = randomInstance(random, 1 + random.nextInt(6), 200);
+            PackingLayout layout = new PatternPacker(instance).pack();
+            String where = "run " + run;
+            PackingAssertions.assertValidLayout(instance, layout, where);
+            assertTrue(layout.truckCount() >= PackingBounds.lowerBound(instance), where + ": 하한보다 적은 트럭");
+        }
+    }
+
+    @Test
+    void expiredDeadlineStillPacksEverything() {
+        // 종류 60개 × 10개: 예산이 지나 있으면 rollout 비교 없이 단계마다 첫 후보(실은 면적 최대)를 쓴다
+        Random random = new Random(3);
+        int types = 60;
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            widths[t] = 100 + random.nextInt(900);
+            heights[t] = 100 + random.nextInt(2000);
+            quantities[t] = 10;
+        }
+        PackingInstance instance = new PackingInstance(2400, 12000, true, 10, new long[types], new String[types],
+                widths, heights, quantities);
+        PackingLayout layout = new PatternPacker(instance, System.nanoTime()).pack();
+        PackingAssertions.assertValidLayout(instance, layout, "deadline");
+        // 비교를 하지 않으므로 언제 실행해도 결과가 같고, rollout으로 고른 결과보다 좋을 수 없다
+        PackingLayout again = new PatternPacker(instance, System.nanoTime()).pack();
+        assertEquals(layout.truckCount(), again.truckCount());
+        assertTrue(new PatternPacker(instance).pack().truckCount() <= layout.truckCount());
+    }
+
+    @Test
+    void serviceRejectsTooManyTypes() {
+        PackingProperties properties = new PackingProperties();
+        properties.getPattern().setMaxTypes(10);
+        PackingService service = new PackingService(ForkJoinPool.commonPool(),
+                new PackingResultCache(properties, new SimpleMeterRegistry()), properties);
+        PackingInstance instance = randomInstance(new Random(5), 11, 3);
+        assertThrows(IllegalArgumentException.class, () -> service.pack(instance, PackingMode.PATTERN, PackingEngine.MAXRECTS));
+    }
+
+    private static PackingInstance randomInstance(Random random, int types, int maxQuantity) {
+        int binW = 2400;
+        int binH = 12000;
+        int[] widths = new int[types];
+        int[] heights = new int[types];
+        int[] quantities = new int[types];
+        for (int t = 0; t < types; t++) {
+            widths[t] = 100 + random.nextInt(900);
+            heights[t] = 100 + random.nextInt(2000);
+            quantities[t] = 1 + random.nextInt(maxQuantity);
+        }
+        return new PackingInstance(binW, binH, random.nextBoolean(), 10, new long[types], new String[types],
+                widths, heights, quantities);
+    }
+}
@@ -0,0 +1,99 @@
+package com.hamsetech.hamsetech.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScenarioItemMergeTest {
+
+    @Test
+    void updatesKnownIdsInPlaceAndRemovesMissingOnes() {
+        PackingScenario scenario = scenario(1L, item(10L, "A", 100), item(11L, "B", 200), item(12L, "C", 300));
+        PackingItem a = scenario.getItems().get(0);
+        PackingItem c = scenario.getItems().get(2);
+
+        PackingScenarioController.ItemDiff diff = PackingScenarioController.mergeItems(scenario, List.of(
+                request(12L, "C", 300),
+                request(10L, "A2", 150),
+                request(null, "D", 400)));
+
+        assertEquals(1, diff.added());
+        assertEquals(1, diff.removed());
+        List<PackingItem> items = scenario.getItems();
+        assertEquals(3, items.size());
+        assertSame(a, items.get(0));
+        assertEquals("A2", a.getName());
+        assertEquals(150, a.getWidth());
+        assertSame(c, items.get(1));
+        PackingItem d = items.get(2);
+        assertNull(d.getId());
+        assertEquals("D", d.getName());
+        assertSame(scenario, d.getScenario());
+    }
+
+    @Test
+    void foreignIdsBecomeNewItems() {
+        PackingItem foreign = item(20L, "X", 500);
+        PackingScenario other = scenario(2L, foreign);
+        PackingScenario scenario = scenario(1L, item(10L, "A", 100));
+
+        // 다른 시나리오의 아이템 ID를 보내도 그 아이템은 바뀌지 않고 이 시나리오에 새 아이템으로 추가된다
+        PackingScenarioController.ItemDiff diff = PackingScenarioController.mergeItems(scenario, List.of(
+                request(10L, "A", 100),
+                request(20L, "Y", 600)));
+
+        assertEquals(1, diff.added());
+        assertEquals(0, diff.removed());
+        assertEquals("X", foreign.getName());
+        assertEquals(500, foreign.getWidth());
+        assertSame(other, foreign.getScenario());
+        assertEquals(List.of(foreign), other.getItems());
+
+        PackingItem added = scenario.getItems().get(1);
+        assertNull(added.getId());
+        assertEquals("Y", added.getName());
+        assertSame(scenario, added.getScenario());
+    }
+
+    @Test
+    void repeatedIdUpdatesOnlyOnce() {
+        PackingScenario scenario = scenario(1L, item(10L, "A", 100));
+        PackingItem a = scenario.getItems().get(0);
+
+        PackingScenarioController.ItemDiff diff = PackingScenarioController.mergeItems(scenario, List.of(
+                request(10L, "A1", 110),
+                request(10L, "A2", 120)));
+
+        assertEquals(1, diff.added());
+        assertEquals(0, diff.removed());
+        assertEquals("A1", a.getName());
+        PackingItem second = scenario.getItems().get(1);
+        assertTrue(second != a);
+        assertNull(second.getId());
+        assertEquals("A2", second.getName());
+    }
+
+    private static PackingScenario scenario(Long id, PackingItem... items) {
+        PackingScenario scenario = new PackingScenario();
+        scenario.setId(id);
+        scenario.setItems(new ArrayList<>(List.of(items)));
+        for (PackingItem item : items) item.setScenario(scenario);
+        return scenario;
+    }
+
+    private static PackingItem item(Long id, String name, int width) {
+        PackingItem item = new PackingItem(null, name, width, 100, 1);
+        item.setId(id);
+        return item;
+    }
+
+    private static PackingScenarioController.ItemRequest request(Long id, String name, int width) {
+        return new PackingScenarioController.ItemRequest(id, name, width, 100, 1);
+    }
+}